@@ -0,0 +1,158 @@
+package banking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BankAccountBench {
+    private static final int REGISTRY_ACCOUNTS = 1024;
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final long HUGE_AMOUNT = 1_000_000_000_000_000L;
+
+    private BankAccount account;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // deposit and withdraw print their receipts; discard them so the benchmark measures the account
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Setup(Level.Iteration)
+    public void openAccount() {
+        account = BankAccount.ofCents(1, "bench", 1_000_000_000L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public long depositSuccess() throws InvalidAmountException {
+        account.deposit(10.25);
+        return account.getBalanceCents();
+    }
+
+    @Benchmark
+    public Object depositInvalidAmount() {
+        try {
+            account.deposit(-1);
+            return null;
+        } catch (InvalidAmountException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public long withdrawSuccess() throws InvalidAmountException, InsufficientBalanceException {
+        account.withdraw(0.01);
+        return account.getBalanceCents();
+    }
+
+    @Benchmark
+    public Object withdrawInsufficientBalance() throws InvalidAmountException {
+        try {
+            account.withdraw(1e12);
+            return null;
+        } catch (InsufficientBalanceException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public byte tryDepositSuccess() {
+        return account.tryDepositCents(1_025);
+    }
+
+    @Benchmark
+    public byte tryWithdrawInsufficientBalance() {
+        return account.tryWithdrawCents(Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Object registryWithdrawFullExceptions(Rejections rejections) throws InvalidAmountException, AccountNotFoundException {
+        return withdrawThrowing(rejections.registry, rejections);
+    }
+
+    @Benchmark
+    public Object registryWithdrawStacklessExceptions(Rejections rejections) throws InvalidAmountException, AccountNotFoundException {
+        return withdrawThrowing(rejections.stacklessRegistry, rejections);
+    }
+
+    @Benchmark
+    public byte registryWithdrawResultCodes(Rejections rejections) {
+        int i = rejections.next();
+        return rejections.registry.tryWithdrawCents(i & (REGISTRY_ACCOUNTS - 1), rejections.amounts[i]);
+    }
+
+    private static Object withdrawThrowing(AccountRegistry registry, Rejections rejections)
+            throws InvalidAmountException, AccountNotFoundException {
+        int i = rejections.next();
+        try {
+            registry.withdrawCents(i & (REGISTRY_ACCOUNTS - 1), rejections.amounts[i]);
+            return null;
+        } catch (InsufficientBalanceException e) {
+            return e;
+        }
+    }
+
+    /** A withdrawal trace where {@code rejectionPercent} of the amounts exceed every balance. */
+    @State(Scope.Thread)
+    public static class Rejections {
+        @Param({"1", "10", "50"})
+        public int rejectionPercent;
+
+        private final long[] amounts = new long[TRACE_LENGTH];
+        private AccountRegistry registry;
+        private AccountRegistry stacklessRegistry;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() throws InvalidAmountException {
+            SplittableRandom random = new SplittableRandom(rejectionPercent);
+            for (int i = 0; i < TRACE_LENGTH; i++) {
+                amounts[i] = random.nextInt(100) < rejectionPercent ? HUGE_AMOUNT : 1;
+            }
+            registry = newRegistry(false);
+            stacklessRegistry = newRegistry(true);
+        }
+
+        int next() {
+            int i = cursor;
+            cursor = (i + 1) & (TRACE_LENGTH - 1);
+            return i;
+        }
+
+        private static AccountRegistry newRegistry(boolean stackless) throws InvalidAmountException {
+            AccountRegistry registry = new AccountRegistry(REGISTRY_ACCOUNTS, 1024);
+            registry.setStacklessFailures(stackless);
+            for (int i = 0; i < REGISTRY_ACCOUNTS; i++) {
+                registry.openCents(i, "holder " + i, 1_000_000_000L);
+            }
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package banking;
+
+import java.util.SplittableRandom;
+
+public class BatchIngestBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int accountCount = 100_000;
+
+        System.out.println("batch ingestion benchmark\n");
+
+        TransactionBatch batch = new TransactionBatch(records);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < records; i++) {
+            byte operation = random.nextInt(2) == 0 ? TransactionBatch.DEPOSIT : TransactionBatch.WITHDRAW;
+            batch.add(random.nextInt(accountCount + 100), operation, random.nextInt(-10, 20_000));
+        }
+
+        AccountRegistry perOp = newRegistry(accountCount);
+        long start = System.nanoTime();
+        long rejected = 0;
+        for (int i = 0; i < records; i++) {
+            try {
+                if (batch.operation(i) == TransactionBatch.DEPOSIT) {
+                    perOp.depositCents(batch.account(i), batch.amountCents(i));
+                } else {
+                    perOp.withdrawCents(batch.account(i), batch.amountCents(i));
+                }
+            } catch (InvalidAmountException | InsufficientBalanceException | AccountNotFoundException e) {
+                rejected++;
+            }
+        }
+        report("per op with exceptions", records, rejected, System.nanoTime() - start);
+
+        AccountRegistry batched = newRegistry(accountCount);
+        byte[] results = new byte[records];
+        start = System.nanoTime();
+        int applied = batched.applyBatch(batch, results);
+        report("batch with result vector", records, records - applied, System.nanoTime() - start);
+
+        if (perOp.totalBalanceCents() != batched.totalBalanceCents()) {
+            throw new IllegalStateException("batch and per op balances differ");
+        }
+    }
+
+    private static AccountRegistry newRegistry(int accountCount) throws InvalidAmountException {
+        AccountRegistry registry = new AccountRegistry(accountCount, 4096);
+        for (int i = 0; i < accountCount; i++) {
+            registry.openCents(i, "holder " + i, 50_000);
+        }
+        return registry;
+    }
+
+    private static void report(String label, int records, long rejected, long elapsedNanos) {
+        System.out.println(label);
+        System.out.println("records " + records + " rejected " + rejected);
+        System.out.println("records per second " + (records * 1_000_000_000L / elapsedNanos) + "\n");
+    }
+}
@@ -0,0 +1,89 @@
+package banking;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class JournalBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        long durationMillis = args.length > 1 ? Long.parseLong(args[1]) : 5_000;
+        int accountCount = 10_000;
+
+        System.out.println("journal throughput by fsync policy\n");
+        System.out.println("threads " + threads + " duration " + durationMillis + "ms");
+
+        FsyncPolicy[] policies = {
+                FsyncPolicy.everyOp(),
+                FsyncPolicy.batched(64),
+                FsyncPolicy.batched(1024),
+                FsyncPolicy.interval(10),
+                FsyncPolicy.interval(100)
+        };
+
+        for (FsyncPolicy policy : policies) {
+            Path directory = Files.createTempDirectory("journal-bench");
+            try {
+                AccountRegistry registry = AccountRegistry.recover(directory, policy, 1_000_000);
+                for (int i = 0; i < accountCount; i++) {
+                    registry.openCents(i, "holder " + i, 100_000);
+                }
+                long ops = run(registry, threads, durationMillis, accountCount);
+                registry.close();
+
+                AccountRegistry recovered = AccountRegistry.recover(directory, policy, 0);
+                boolean conserved = recovered.totalBalanceCents() == registry.totalBalanceCents();
+                recovered.close();
+
+                System.out.println(policy + " ops per second " + (ops * 1000 / durationMillis)
+                        + (conserved ? "" : " recovery mismatch"));
+            } finally {
+                deleteRecursively(directory);
+            }
+        }
+    }
+
+    private static long run(AccountRegistry registry, int threads, long durationMillis, int accountCount)
+            throws InterruptedException {
+        AtomicLong ops = new AtomicLong();
+        long deadline = System.currentTimeMillis() + durationMillis;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    try {
+                        if (random.nextBoolean()) {
+                            registry.depositCents(random.nextInt(accountCount), 100);
+                        } else {
+                            registry.withdrawCents(random.nextInt(accountCount), 100);
+                        }
+                    } catch (InsufficientBalanceException e) {
+                        // a rejected withdrawal is still a completed operation
+                    } catch (InvalidAmountException | AccountNotFoundException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    done++;
+                }
+                ops.addAndGet(done);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.get();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package banking;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MappedStoreBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int opsPerThread = 2_000_000;
+        Path file = Files.createTempFile("accounts", ".store");
+        Files.delete(file);
+
+        System.out.println("memory mapped account store\n");
+
+        try {
+            long start = System.nanoTime();
+            long expectedTotal = 0;
+            try (MappedAccountStore store = MappedAccountStore.open(file, accountCount)) {
+                for (int i = 0; i < accountCount; i++) {
+                    store.insert(i, "holder " + i, 10_000);
+                    expectedTotal += 10_000;
+                }
+                report("inserts", accountCount, System.nanoTime() - start);
+
+                AtomicLong rejected = new AtomicLong();
+                Thread[] workers = new Thread[threads];
+                start = System.nanoTime();
+                for (int t = 0; t < threads; t++) {
+                    int seed = t;
+                    workers[t] = new Thread(() -> {
+                        SplittableRandom random = new SplittableRandom(seed);
+                        MappedBankAccount from = store.view();
+                        MappedBankAccount to = store.view();
+                        for (int i = 0; i < opsPerThread; i++) {
+                            from.moveToAccount(random.nextInt(accountCount));
+                            to.moveToAccount(random.nextInt(accountCount));
+                            long amount = random.nextInt(1, 20_000);
+                            if (from.tryWithdrawCents(amount) == TransactionResult.OK) {
+                                to.tryDepositCents(amount);
+                            } else {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    });
+                    workers[t].start();
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                report("lookup and transfer", (long) threads * opsPerThread, System.nanoTime() - start);
+                System.out.println("rejected " + rejected.get());
+            }
+
+            start = System.nanoTime();
+            try (MappedAccountStore reopened = MappedAccountStore.open(file, accountCount)) {
+                System.out.println("reopen took " + (System.nanoTime() - start) / 1_000_000 + "ms");
+                System.out.println("accounts after reopen " + reopened.size());
+                MappedBankAccount view = reopened.view();
+                long total = 0;
+                for (int i = 0; i < accountCount; i++) {
+                    view.moveToAccount(i);
+                    total += view.getBalanceCents();
+                }
+                System.out.println(total == expectedTotal ? "balances conserved" : "balance mismatch");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void report(String label, long ops, long elapsedNanos) {
+        System.out.println(label + " " + ops + " ops per second " + (ops * 1_000_000_000L / elapsedNanos));
+    }
+}
@@ -0,0 +1,89 @@
+package codec;
+
+import employee.FullTimeEmployee;
+import org.example.Customer;
+import product.NegativePriceException;
+import product.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBench {
+    @Param({"product", "customer", "employee"})
+    public String kind;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+    private RecordCodec<Object> codec;
+    private Object record;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws NegativePriceException, IOException {
+        switch (kind) {
+            case "product":
+                record = Product.ofCents(123_456, "wireless mouse", "\u00e9lectronique", 2_499);
+                codec = erase(new ProductCodec());
+                break;
+            case "customer":
+                record = new Customer(123_456, "ada lovelace", "ada@example.com");
+                codec = erase(new CustomerCodec());
+                break;
+            default:
+                record = FullTimeEmployee.ofCents(123_456, "grace hopper", "engineering", 850_000);
+                codec = erase(new EmployeeCodec());
+        }
+        serialized = javaSerialize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RecordCodec<Object> erase(RecordCodec<?> codec) {
+        return (RecordCodec<Object>) codec;
+    }
+
+    @Benchmark
+    public Object binaryRoundTrip() throws MalformedRecordException {
+        buffer.clear();
+        codec.encode(record, buffer);
+        buffer.flip();
+        return codec.decode(buffer);
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(record);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object javaDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package day7code;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+public class FirstUniqueBenchmark {
+    private static final int UNIQUE = 0x1F600;
+
+    public static void main(String[] args) throws IOException {
+        long[] sizes = args.length > 0 ? parseSizes(args) : new long[]{1L << 10, 1L << 20, 1L << 30};
+
+        System.out.println("first non repeating character benchmark\n");
+        FirstUniqueTracker tracker = new FirstUniqueTracker();
+
+        for (long size : sizes) {
+            System.out.println("input chars " + size);
+            int reps = (int) Math.max(1, (64L << 20) / size);
+
+            long start = System.nanoTime();
+            tracker.reset();
+            for (int r = 0; r < reps; r++) {
+                tracker.reset();
+                tracker.consume(new PatternReader(size));
+            }
+            long streamNanos = System.nanoTime() - start;
+            System.out.println("tracker reader first unique " + describe(tracker.firstUnique())
+                    + " chars per second " + perSecond(size * reps, streamNanos));
+
+            // the map version needs the whole string plus two char[] copies of it
+            if (size * 6 > Runtime.getRuntime().maxMemory() / 2) {
+                System.out.println("hashmap skipped, input does not fit in memory\n");
+                continue;
+            }
+            String text = materialize(size);
+
+            start = System.nanoTime();
+            for (int r = 0; r < reps; r++) {
+                tracker.reset();
+                tracker.accept(text);
+            }
+            long trackerNanos = System.nanoTime() - start;
+            System.out.println("tracker string first unique " + describe(tracker.firstUnique())
+                    + " chars per second " + perSecond(size * reps, trackerNanos));
+
+            start = System.nanoTime();
+            char answer = 0;
+            for (int r = 0; r < reps; r++) {
+                answer = StringArrayProblems.firstNonRepeatingChar(text);
+            }
+            long mapNanos = System.nanoTime() - start;
+            System.out.println("hashmap first unique " + describe(answer)
+                    + " chars per second " + perSecond(size * reps, mapNanos) + "\n");
+        }
+    }
+
+    private static String describe(int codePoint) {
+        return codePoint == FirstUniqueTracker.NONE ? "none" : "U+" + Integer.toHexString(codePoint).toUpperCase();
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return (long) (count * 1e9 / Math.max(1, nanos));
+    }
+
+    private static long[] parseSizes(String[] args) {
+        long[] sizes = new long[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Long.parseLong(args[i]);
+        }
+        return sizes;
+    }
+
+    private static String materialize(long size) throws IOException {
+        StringBuilder text = new StringBuilder((int) size);
+        char[] chunk = new char[8192];
+        PatternReader reader = new PatternReader(size);
+        int read;
+        while ((read = reader.read(chunk, 0, chunk.length)) >= 0) {
+            text.append(chunk, 0, read);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Cycles through latin letters and CJK ideographs so every char repeats, with one surrogate
+     * pair emoji placed nine tenths of the way through as the only unique code point.
+     */
+    private static final class PatternReader extends Reader {
+        private final long size;
+        private final long uniqueAt;
+        private final int alphabet;
+        private long position;
+
+        PatternReader(long size) {
+            this.size = size;
+            this.uniqueAt = size * 9 / 10;
+            this.alphabet = (int) Math.max(1, Math.min(26 + 512, (size - 2) / 4));
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= size) {
+                return -1;
+            }
+            int count = (int) Math.min(length, size - position);
+            for (int i = 0; i < count; i++, position++) {
+                char c;
+                if (position == uniqueAt) {
+                    c = Character.highSurrogate(UNIQUE);
+                } else if (position == uniqueAt + 1) {
+                    c = Character.lowSurrogate(UNIQUE);
+                } else {
+                    int k = (int) (position % alphabet);
+                    c = k < 26 ? (char) ('a' + k) : (char) (0x4E00 + k - 26);
+                }
+                buffer[offset + i] = c;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package day7code;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips between the benchmark thread and a partner thread, one turn each per operation.
+ * {@code legacy} is the wait/notify flag handoff the thread demos used before the turn scheduler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandoffBench {
+    @Param({"legacy", "MONITOR", "PARK", "SPIN"})
+    public String strategy;
+
+    private final Object lock = new Object();
+    private boolean mainTurn = true;
+    private TurnScheduler turns;
+    private Thread partner;
+
+    @Setup(Level.Iteration)
+    public void startPartner() {
+        mainTurn = true;
+        turns = strategy.equals("legacy") ? null : TurnScheduler.roundRobin(2, TurnScheduler.Strategy.valueOf(strategy));
+        partner = new Thread(() -> {
+            try {
+                while (true) {
+                    if (turns == null) {
+                        synchronized (lock) {
+                            while (mainTurn) {
+                                lock.wait();
+                            }
+                            mainTurn = true;
+                            lock.notify();
+                        }
+                    } else {
+                        turns.awaitTurn(1);
+                        turns.endTurn(1);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // iteration over
+            }
+        }, "handoff-partner");
+        partner.setDaemon(true);
+        partner.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopPartner() throws InterruptedException {
+        partner.interrupt();
+        partner.join();
+    }
+
+    @Benchmark
+    public void roundTrip() throws InterruptedException {
+        if (turns == null) {
+            synchronized (lock) {
+                while (!mainTurn) {
+                    lock.wait();
+                }
+                mainTurn = false;
+                lock.notify();
+            }
+        } else {
+            turns.awaitTurn(0);
+            turns.endTurn(0);
+        }
+    }
+}
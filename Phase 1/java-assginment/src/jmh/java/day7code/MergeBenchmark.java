@@ -0,0 +1,148 @@
+package day7code;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+public class MergeBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int runCount = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int runLength = args.length > 1 ? Integer.parseInt(args[1]) : 32_768;
+        long total = (long) runCount * runLength;
+
+        SplittableRandom random = new SplittableRandom(3);
+        long[][] longRuns = new long[runCount][];
+        int[][] intRuns = new int[runCount][];
+        for (int r = 0; r < runCount; r++) {
+            int[] run = new int[runLength];
+            for (int i = 0; i < runLength; i++) {
+                run[i] = random.nextInt(Integer.MAX_VALUE);
+            }
+            Arrays.sort(run);
+            intRuns[r] = run;
+            longRuns[r] = Arrays.stream(run).asLongStream().toArray();
+        }
+
+        System.out.println("k way merge benchmark\n");
+        System.out.println("runs " + runCount + " keys per run " + runLength);
+
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+
+            List<List<Integer>> lists = new ArrayList<>();
+            for (int[] run : intRuns) {
+                List<Integer> list = new ArrayList<>(run.length);
+                for (int key : run) {
+                    list.add(key);
+                }
+                lists.add(list);
+            }
+            long start = System.nanoTime();
+            while (lists.size() > 1) {
+                List<List<Integer>> next = new ArrayList<>();
+                for (int i = 0; i + 1 < lists.size(); i += 2) {
+                    next.add(StringArrayProblems.mergeSortedLists(lists.get(i), lists.get(i + 1)));
+                }
+                if (lists.size() % 2 == 1) {
+                    next.add(lists.get(lists.size() - 1));
+                }
+                lists = next;
+            }
+            long listNanos = System.nanoTime() - start;
+            lists = null;
+
+            SortedCheck intCheck = new SortedCheck();
+            start = System.nanoTime();
+            KWayMerge.merge(intRuns, key -> intCheck.accept(key));
+            long intNanos = System.nanoTime() - start;
+
+            SortedCheck longCheck = new SortedCheck();
+            start = System.nanoTime();
+            KWayMerge.merge(longRuns, longCheck);
+            long longNanos = System.nanoTime() - start;
+
+            long[] out = new long[(int) total];
+            long parallelNanos;
+            try (ParallelMerger merger = new ParallelMerger()) {
+                start = System.nanoTime();
+                merger.merge(longRuns, out);
+                parallelNanos = System.nanoTime() - start;
+            }
+            SortedCheck parallelCheck = new SortedCheck();
+            for (long key : out) {
+                parallelCheck.accept(key);
+            }
+
+            if (intCheck.count != total || longCheck.count != total || parallelCheck.count != total
+                    || intCheck.sum != longCheck.sum || longCheck.sum != parallelCheck.sum) {
+                throw new IllegalStateException("merged output is wrong");
+            }
+            if (report) {
+                System.out.println("\ntwo list cascade keys per second " + perSecond(total, listNanos));
+                System.out.println("loser tree int runs keys per second " + perSecond(total, intNanos));
+                System.out.println("loser tree long runs keys per second " + perSecond(total, longNanos));
+                System.out.println("parallel " + Runtime.getRuntime().availableProcessors()
+                        + " cores keys per second " + perSecond(total, parallelNanos));
+            }
+        }
+
+        Path directory = Files.createTempDirectory("runs");
+        List<Path> files = new ArrayList<>();
+        try {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(runLength * Long.BYTES);
+            for (int r = 0; r < runCount; r++) {
+                Path file = directory.resolve("run-" + r + ".bin");
+                buffer.clear();
+                buffer.asLongBuffer().put(longRuns[r]);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                files.add(file);
+            }
+            SortedCheck fileCheck = new SortedCheck();
+            long start = System.nanoTime();
+            KWayMerge.mergeFiles(files, fileCheck);
+            long fileNanos = System.nanoTime() - start;
+            if (fileCheck.count != total) {
+                throw new IllegalStateException("merged file output is wrong");
+            }
+            System.out.println("loser tree mapped files keys per second " + perSecond(total, fileNanos));
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return count * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    private static final class SortedCheck implements LongConsumer {
+        private long previous = Long.MIN_VALUE;
+        private long count;
+        private long sum;
+
+        @Override
+        public void accept(long key) {
+            if (key < previous) {
+                throw new IllegalStateException("out of order at " + count);
+            }
+            previous = key;
+            count++;
+            sum += key;
+        }
+    }
+}
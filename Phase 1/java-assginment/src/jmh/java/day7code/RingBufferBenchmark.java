@@ -0,0 +1,148 @@
+package day7code;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class RingBufferBenchmark {
+    private static final Object FILLER = new Object();
+    private static final int SAMPLE_EVERY = 256;
+    private static final int CAPACITY = 1 << 14;
+
+    private interface Channel {
+        void put(Object message) throws InterruptedException;
+
+        Object take() throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.println("ring buffer handoff benchmark\n");
+        System.out.println("messages " + messages + " capacity " + CAPACITY
+                + " cores " + Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            if (report) {
+                System.out.println("\none producer one consumer");
+            }
+            run("spsc ring", ring(new SpscRingBuffer<>(CAPACITY, WaitStrategy.yielding())), 1, messages, report);
+            run("mpmc ring", ring(new MpmcRingBuffer<>(CAPACITY, WaitStrategy.yielding())), 1, messages, report);
+            run("array blocking queue", queue(new ArrayBlockingQueue<>(CAPACITY)), 1, messages, report);
+            run("linked blocking queue", queue(new LinkedBlockingQueue<>(CAPACITY)), 1, messages, report);
+        }
+
+        System.out.println("\nfour producers four consumers");
+        run("mpmc ring", ring(new MpmcRingBuffer<>(CAPACITY, WaitStrategy.yielding())), 4, messages, true);
+        run("array blocking queue", queue(new ArrayBlockingQueue<>(CAPACITY)), 4, messages, true);
+        run("linked blocking queue", queue(new LinkedBlockingQueue<>(CAPACITY)), 4, messages, true);
+
+        SpscRingBuffer<Object> batched = new SpscRingBuffer<>(CAPACITY, WaitStrategy.yielding());
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < messages; i++) {
+                    batched.put(FILLER);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long start = System.nanoTime();
+        producer.start();
+        long received = 0;
+        while (received < messages) {
+            received += batched.drainAtLeastOne(message -> { }, 256);
+        }
+        producer.join();
+        long elapsed = System.nanoTime() - start;
+        System.out.println("\nspsc ring batched drain messages per second " + messages * 1_000_000_000L / elapsed);
+    }
+
+    private static Channel ring(RingBuffer<Object> buffer) {
+        return new Channel() {
+            @Override
+            public void put(Object message) throws InterruptedException {
+                buffer.put(message);
+            }
+
+            @Override
+            public Object take() throws InterruptedException {
+                return buffer.take();
+            }
+        };
+    }
+
+    private static Channel queue(BlockingQueue<Object> queue) {
+        return new Channel() {
+            @Override
+            public void put(Object message) throws InterruptedException {
+                queue.put(message);
+            }
+
+            @Override
+            public Object take() throws InterruptedException {
+                return queue.take();
+            }
+        };
+    }
+
+    private static void run(String name, Channel channel, int pairs, int messages, boolean report)
+            throws InterruptedException {
+        int perThread = messages / pairs;
+        long[][] samples = new long[pairs][perThread / SAMPLE_EVERY + 1];
+        int[] sampleCounts = new int[pairs];
+
+        Thread[] threads = new Thread[pairs * 2];
+        for (int p = 0; p < pairs; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        // every few messages carry a send timestamp for the latency sample
+                        channel.put(i % SAMPLE_EVERY == 0 ? new long[]{System.nanoTime()} : FILLER);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            int consumer = p;
+            threads[pairs + p] = new Thread(() -> {
+                try {
+                    long[] own = samples[consumer];
+                    for (int i = 0; i < perThread; i++) {
+                        Object message = channel.take();
+                        if (message != FILLER && sampleCounts[consumer] < own.length) {
+                            own[sampleCounts[consumer]++] = System.nanoTime() - ((long[]) message)[0];
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (report) {
+            int total = Arrays.stream(sampleCounts).sum();
+            long[] latencies = new long[total];
+            int at = 0;
+            for (int p = 0; p < pairs; p++) {
+                System.arraycopy(samples[p], 0, latencies, at, sampleCounts[p]);
+                at += sampleCounts[p];
+            }
+            Arrays.sort(latencies);
+            long p99 = latencies.length == 0 ? 0 : latencies[Math.min(latencies.length - 1, (int) (latencies.length * 0.99))];
+            System.out.println(name + " messages per second " + (long) perThread * pairs * 1_000_000_000L / elapsed
+                    + " p99 latency " + p99 / 1_000 + "us");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package day7code;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringArrayBench {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] nums;
+    private int missingTarget;
+    private int pairTarget;
+    private String text;
+    private FirstUniqueTracker tracker;
+    private List<Integer> left;
+    private List<Integer> right;
+    private int[][] intRuns;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        nums = new int[size];
+        for (int i = 0; i < size; i++) {
+            nums[i] = random.nextInt(size * 4);
+        }
+        // no pair sums to a negative target, so the first pair scans walk the whole array
+        missingTarget = -1;
+        pairTarget = size * 4;
+
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append(i == size * 9 / 10 ? 'Z' : (char) ('a' + i % 26));
+        }
+        text = builder.toString();
+        tracker = new FirstUniqueTracker();
+
+        left = new ArrayList<>(size / 2);
+        right = new ArrayList<>(size / 2);
+        int[] odd = new int[size / 2];
+        int[] even = new int[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            left.add(2 * i + 1);
+            right.add(2 * i);
+            odd[i] = 2 * i + 1;
+            even[i] = 2 * i;
+        }
+        intRuns = new int[][]{odd, even};
+    }
+
+    @Benchmark
+    public int[] twoSumBoxed() {
+        return StringArrayProblems.twoSum(nums, missingTarget);
+    }
+
+    @Benchmark
+    public int[] twoSumIntMap() {
+        return TwoSum.firstPair(nums, missingTarget);
+    }
+
+    @Benchmark
+    public int[] allPairsIntMap() {
+        return TwoSum.allPairs(nums, pairTarget);
+    }
+
+    @Benchmark
+    public int[] allPairsSortedTwoPointer() {
+        return TwoSum.allPairsSorted(nums, pairTarget);
+    }
+
+    @Benchmark
+    public char firstNonRepeatingCharHashMap() {
+        return StringArrayProblems.firstNonRepeatingChar(text);
+    }
+
+    @Benchmark
+    public int firstNonRepeatingCharTracker() {
+        tracker.reset();
+        tracker.accept(text);
+        return tracker.firstUnique();
+    }
+
+    @Benchmark
+    public List<Integer> mergeSortedLists() {
+        return StringArrayProblems.mergeSortedLists(left, right);
+    }
+
+    @Benchmark
+    public void mergeLoserTree(Blackhole blackhole) {
+        KWayMerge.merge(intRuns, blackhole::consume);
+    }
+
+    @Benchmark
+    public int[] mergeIntoArray() {
+        int[] out = new int[intRuns[0].length + intRuns[1].length];
+        int[] position = {0};
+        KWayMerge.merge(intRuns, key -> out[position[0]++] = key);
+        return Arrays.copyOf(out, position[0]);
+    }
+}
@@ -0,0 +1,88 @@
+package day7code;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+public class TaskRunnerBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long blockMicros = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        int poolThreads = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int maxInFlight = 10_000;
+
+        System.out.println("task runner blocking task benchmark\n");
+        System.out.println("tasks " + tasks + " blocking " + blockMicros + "us each, at most " + maxInFlight + " in flight");
+
+        for (TaskRunner.Mode mode : TaskRunner.Mode.values()) {
+            if (mode == TaskRunner.Mode.VIRTUAL && !TaskRunner.isVirtualThreadSupported()) {
+                System.out.println("\nvirtual not run, it needs Java 21 and this is " + Runtime.version());
+                continue;
+            }
+            // the fork join pool compensates for managed blocking, so it starts at one thread per core
+            int parallelism = mode == TaskRunner.Mode.FORK_JOIN ? Runtime.getRuntime().availableProcessors() : poolThreads;
+            run(mode, parallelism, tasks, blockMicros * 1_000, maxInFlight);
+        }
+    }
+
+    private static void run(TaskRunner.Mode mode, int parallelism, int tasks, long blockNanos, int maxInFlight)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        long peakQueueDepth = 0;
+        long start = System.nanoTime();
+        TaskRunner runner = new TaskRunner(mode, parallelism);
+        try {
+            for (int i = 0; i < tasks; i++) {
+                permits.acquire();
+                runner.submit(() -> {
+                    try {
+                        block(blockNanos);
+                    } finally {
+                        permits.release();
+                    }
+                });
+                if ((i & 4095) == 0) {
+                    peakQueueDepth = Math.max(peakQueueDepth, runner.metrics().getQueueDepth());
+                }
+            }
+        } finally {
+            runner.close();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        TaskMetrics metrics = runner.metrics();
+        // a virtual runner starts one thread per task, so the pool size does not apply
+        System.out.println("\n" + mode.name().toLowerCase()
+                + (mode == TaskRunner.Mode.VIRTUAL ? " one thread per task" : " parallelism " + parallelism));
+        System.out.println("tasks per second " + metrics.getCompleted() * 1_000_000_000L / elapsed
+                + " completed " + metrics.getCompleted() + " failed " + metrics.getFailed()
+                + " peak queue depth " + peakQueueDepth);
+        System.out.println("mean queue " + metrics.getMeanQueueNanos() / 1_000 + "us"
+                + " mean run " + metrics.getMeanRunNanos() / 1_000 + "us"
+                + " p50 under " + metrics.latencyPercentile(0.50) / 1_000 + "us"
+                + " p99 under " + metrics.latencyPercentile(0.99) / 1_000 + "us");
+    }
+
+    // stands in for a blocking read, telling a fork join pool to add a thread while it waits
+    private static void block(long nanos) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private final long deadline = System.nanoTime() + nanos;
+
+                @Override
+                public boolean block() {
+                    LockSupport.parkNanos(deadline - System.nanoTime());
+                    return isReleasable();
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return System.nanoTime() >= deadline;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package day7code;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full turn cycle per operation: the benchmark thread is party 0 and takes its weighted share
+ * of turns, partner threads take the rest. Throughput times the sum of {@code weights} gives
+ * handoffs per second, and the sample mode reports cycle latency percentiles (p50, p99, p99.9).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TurnSchedulerBench {
+    @Param({"MONITOR", "PARK", "SPIN"})
+    public String strategy;
+
+    // one weight per party, colon separated because -p splits on commas; "3:1:1" gives party 0 three turns a cycle
+    @Param({"1:1", "1:1:1:1", "3:1:1"})
+    public String weights;
+
+    private TurnScheduler turns;
+    private int ownTurns;
+    private Thread[] partners;
+
+    @Setup(Level.Iteration)
+    public void startPartners() {
+        int[] parsed = Arrays.stream(weights.split(":")).mapToInt(Integer::parseInt).toArray();
+        turns = TurnScheduler.weighted(parsed, TurnScheduler.Strategy.valueOf(strategy));
+        ownTurns = parsed[0];
+        partners = new Thread[parsed.length - 1];
+        for (int p = 1; p < parsed.length; p++) {
+            int party = p;
+            partners[p - 1] = new Thread(() -> {
+                try {
+                    while (true) {
+                        turns.awaitTurn(party);
+                        turns.endTurn(party);
+                    }
+                } catch (InterruptedException e) {
+                    // iteration over
+                }
+            }, "turn-partner-" + party);
+            partners[p - 1].setDaemon(true);
+            partners[p - 1].start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopPartners() throws InterruptedException {
+        for (Thread partner : partners) {
+            partner.interrupt();
+        }
+        for (Thread partner : partners) {
+            partner.join();
+        }
+    }
+
+    @Benchmark
+    public void cycle() throws InterruptedException {
+        for (int i = 0; i < ownTurns; i++) {
+            turns.awaitTurn(0);
+            turns.endTurn(0);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollBench {
+    @Param({"1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private Employee[] roster;
+    private PayrollEngine engine;
+
+    @Setup
+    public void setUp() {
+        roster = PayrollBenchmark.buildRoster(rosterSize);
+        engine = new PayrollEngine();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public double calculateSalary() {
+        double total = 0;
+        for (Employee employee : roster) {
+            total += employee.calculateSalary();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long calculateSalaryCents() {
+        long total = 0;
+        for (Employee employee : roster) {
+            total += employee.calculateSalaryCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public PayrollSummary payrollEngine() {
+        return engine.run(roster);
+    }
+}
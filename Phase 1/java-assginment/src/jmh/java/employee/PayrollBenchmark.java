@@ -0,0 +1,54 @@
+package employee;
+
+import java.util.SplittableRandom;
+
+public class PayrollBenchmark {
+    private static final String[] DEPARTMENTS = {"engineering", "marketing", "support", "sales", "finance", "legal", "operations", "research"};
+
+    public static void main(String[] args) {
+        int rosterSize = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int maxParallelism = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        System.out.println("parallel payroll benchmark\n");
+
+        Employee[] roster = buildRoster(rosterSize);
+        System.out.println("roster size " + rosterSize);
+        System.out.println("available cores " + Runtime.getRuntime().availableProcessors());
+
+        long baseline = 0;
+        long expectedTotal = -1;
+        for (int parallelism = 1; parallelism <= maxParallelism; parallelism *= 2) {
+            try (PayrollEngine engine = new PayrollEngine(parallelism, 16_384)) {
+                long best = Long.MAX_VALUE;
+                PayrollSummary summary = null;
+                for (int round = 0; round < 5; round++) {
+                    long start = System.nanoTime();
+                    summary = engine.run(roster);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                if (expectedTotal < 0) {
+                    expectedTotal = summary.getTotalCents();
+                    baseline = best;
+                } else if (summary.getTotalCents() != expectedTotal) {
+                    throw new IllegalStateException("payroll total changed with parallelism " + parallelism);
+                }
+                System.out.println("parallelism " + parallelism + " time " + best / 1_000_000 + "ms speedup "
+                        + String.format("%.2f", (double) baseline / best));
+            }
+        }
+    }
+
+    static Employee[] buildRoster(int size) {
+        SplittableRandom random = new SplittableRandom(7);
+        Employee[] roster = new Employee[size];
+        for (int i = 0; i < size; i++) {
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            if (random.nextBoolean()) {
+                roster[i] = FullTimeEmployee.ofCents(i, "employee", department, random.nextInt(200_000, 1_000_000));
+            } else {
+                roster[i] = PartTimeEmployee.ofCents(i, "employee", department, random.nextInt(1_000, 5_000), random.nextInt(10, 160));
+            }
+        }
+        return roster;
+    }
+}
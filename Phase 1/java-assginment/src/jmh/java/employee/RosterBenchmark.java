@@ -0,0 +1,55 @@
+package employee;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RosterBenchmark {
+
+    public static void main(String[] args) {
+        int rosterSize = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.println("object list versus columnar roster\n");
+
+        long before = usedMemory();
+        List<Employee> employees = Arrays.asList(PayrollBenchmark.buildRoster(rosterSize));
+        long objectBytes = usedMemory() - before;
+
+        before = usedMemory();
+        EmployeeRoster roster = EmployeeRoster.from(employees);
+        long columnarBytes = usedMemory() - before;
+
+        System.out.println("roster size " + rosterSize);
+        System.out.println("object list bytes per employee " + objectBytes / rosterSize);
+        System.out.println("columnar bytes per employee " + columnarBytes / rosterSize);
+
+        long objectTotal = 0;
+        long columnarTotal = 0;
+        long objectBest = Long.MAX_VALUE;
+        long columnarBest = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            long total = 0;
+            for (Employee employee : employees) {
+                total += employee.calculateSalaryCents();
+            }
+            objectBest = Math.min(objectBest, System.nanoTime() - start);
+            objectTotal = total;
+
+            start = System.nanoTime();
+            columnarTotal = roster.totalSalaryCents();
+            columnarBest = Math.min(columnarBest, System.nanoTime() - start);
+        }
+
+        System.out.println("object list scan " + objectBest / 1_000 + "us");
+        System.out.println("columnar scan " + columnarBest / 1_000 + "us");
+        System.out.println(objectTotal == columnarTotal ? "totals match" : "totals differ");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
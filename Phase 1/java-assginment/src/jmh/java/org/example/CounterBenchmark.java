@@ -0,0 +1,87 @@
+package org.example;
+
+import banking.BankAccount;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CounterBenchmark {
+    private static long lockedCount;
+
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        System.out.println("instance counter benchmark\n");
+        System.out.println("per thread " + perThread + " cores " + Runtime.getRuntime().availableProcessors());
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            System.out.println("\nthreads " + threads);
+
+            int objectsBefore = ObjectCounter.getCount();
+            long elapsed = race(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    new ObjectCounter();
+                }
+            });
+            check("object counter", ObjectCounter.getCount() - objectsBefore, threads, perThread, elapsed);
+
+            int accountsBefore = BankAccount.getTotalAccounts();
+            elapsed = race(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    BankAccount.ofCents(i, "holder", 0);
+                }
+            });
+            check("bank account", BankAccount.getTotalAccounts() - accountsBefore, threads, perThread, elapsed);
+
+            LongAdder adder = new LongAdder();
+            elapsed = race(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    adder.increment();
+                }
+            });
+            check("long adder", adder.sum(), threads, perThread, elapsed);
+
+            AtomicLong atomic = new AtomicLong();
+            elapsed = race(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    atomic.incrementAndGet();
+                }
+            });
+            check("atomic long", atomic.get(), threads, perThread, elapsed);
+
+            lockedCount = 0;
+            elapsed = race(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    synchronized (CounterBenchmark.class) {
+                        lockedCount++;
+                    }
+                }
+            });
+            check("synchronized", lockedCount, threads, perThread, elapsed);
+        }
+    }
+
+    private static long race(int threads, Runnable work) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(work);
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void check(String name, long counted, int threads, int perThread, long nanos) {
+        long expected = (long) threads * perThread;
+        if (counted != expected) {
+            throw new IllegalStateException(name + " counted " + counted + " expected " + expected);
+        }
+        System.out.println(name + " exact " + counted + " increments per second " + expected * 1_000_000_000L / nanos);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+public class CustomerDirectoryBenchmark {
+
+    public static void main(String[] args) throws IOException, InvalidEmailException {
+        int customerCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int emailCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        System.out.println("customer directory and email validation benchmark\n");
+
+        Customer[] customers = new Customer[customerCount];
+        for (int i = 0; i < customerCount; i++) {
+            customers[i] = new Customer(i, "customer " + i, "customer" + i + "@example.com");
+        }
+
+        long start = System.nanoTime();
+        CustomerDirectory directory = new CustomerDirectory();
+        for (Customer customer : customers) {
+            directory.add(customer);
+        }
+        long insertNanos = System.nanoTime() - start;
+
+        SplittableRandom random = new SplittableRandom(7);
+        String[] queries = new String[1_000_000];
+        int[] ids = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            ids[i] = random.nextInt(customerCount);
+            queries[i] = "Customer" + ids[i] + "@Example.com";
+        }
+
+        start = System.nanoTime();
+        long found = 0;
+        for (int id : ids) {
+            found += directory.findById(id) != null ? 1 : 0;
+        }
+        long idNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String query : queries) {
+            found += directory.findByEmail(query) != null ? 1 : 0;
+        }
+        long emailNanos = System.nanoTime() - start;
+
+        System.out.println("customers " + customerCount + " found " + found);
+        System.out.println("inserts per second " + perSecond(customerCount, insertNanos));
+        System.out.println("id lookups per second " + perSecond(ids.length, idNanos));
+        System.out.println("email lookups per second " + perSecond(queries.length, emailNanos));
+        System.out.println("index bytes per customer " + directory.indexBytes() / customerCount);
+
+        Path file = Files.createTempFile("emails", ".txt");
+        try {
+            String[] invalid = {"plainaddress", "a@@b.com", ".dot@example.com", "user@-host.com", "user@host", "user@example.123"};
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                for (int i = 0; i < emailCount; i++) {
+                    writer.write(i % 10 == 0 ? invalid[i % invalid.length] : "user." + i + "@mail" + i % 97 + ".example.org");
+                    writer.newLine();
+                }
+            }
+            long fileBytes = Files.size(file);
+
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                EmailScanResult result = EmailValidator.validateFile(file);
+                long elapsed = System.nanoTime() - start;
+                System.out.println("\nvalidated " + result.getTotal() + " valid " + result.getValid()
+                        + " invalid " + result.getInvalid());
+                System.out.println("addresses per second " + perSecond(result.getTotal(), elapsed)
+                        + " mb per second " + fileBytes * 1_000L / elapsed);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return count * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import common.ReportWriter;
+import common.Reportable;
+import employee.FullTimeEmployee;
+import product.NegativePriceException;
+import product.Product;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ReportBenchmark {
+
+    public static void main(String[] args) throws IOException, NegativePriceException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Reportable[] records = new Reportable[count];
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+                case 0:
+                    records[i] = Product.ofCents(i, "product " + i, 1_000 + i);
+                    break;
+                case 1:
+                    records[i] = FullTimeEmployee.ofCents(i, "employee " + i, "engineering", 500_000L + i);
+                    break;
+                default:
+                    records[i] = new Customer(i, "customer " + i, "customer" + i + "@example.com");
+            }
+        }
+
+        System.out.println("report rendering benchmark\n");
+        System.out.println("records " + count);
+
+        PrintStream console = System.out;
+        Path file = Files.createTempFile("report", ".txt");
+        try {
+            for (int round = 0; round < 2; round++) {
+                boolean report = round == 1;
+
+                // the old displayDetails shape, one println per field through an auto flushing stream
+                long start = System.nanoTime();
+                try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()), true)) {
+                    StringBuilder lines = new StringBuilder();
+                    for (Reportable record : records) {
+                        lines.setLength(0);
+                        record.appendDetails(lines);
+                        int from = 0;
+                        for (int at = lines.indexOf("\n"); at >= 0; at = lines.indexOf("\n", from)) {
+                            out.println(lines.substring(from, at));
+                            from = at + 1;
+                        }
+                    }
+                }
+                long perLineNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()), true)) {
+                    System.setOut(out);
+                    for (Reportable record : records) {
+                        record.displayDetails();
+                    }
+                } finally {
+                    System.setOut(console);
+                }
+                long perRecordNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                try (ReportWriter writer = ReportWriter.toFile(file)) {
+                    for (Reportable record : records) {
+                        writer.write(record);
+                    }
+                }
+                long batchedNanos = System.nanoTime() - start;
+
+                if (report) {
+                    System.out.println("\nbytes " + Files.size(file));
+                    System.out.println("println per line records per second " + perSecond(count, perLineNanos));
+                    System.out.println("displayDetails per record records per second " + perSecond(count, perRecordNanos));
+                    System.out.println("report writer batched records per second " + perSecond(count, batchedNanos));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return count * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
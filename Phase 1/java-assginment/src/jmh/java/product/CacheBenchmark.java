@@ -0,0 +1,83 @@
+package product;
+
+import java.util.SplittableRandom;
+
+public class CacheBenchmark {
+
+    public static void main(String[] args) throws NegativePriceException {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        int cacheSize = itemCount / 100;
+        double skew = 0.99;
+
+        System.out.println("product cache eviction benchmark\n");
+        System.out.println("items " + itemCount + " cache size " + cacheSize + " zipf skew " + skew);
+
+        Product[] backing = new Product[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            backing[i] = Product.ofCents(i, "item " + i, 1_000 + i % 10_000);
+        }
+        ProductStore store = id -> {
+            // stand in for a slower store with a little busy work per load
+            long spin = 0;
+            for (int i = 0; i < 200; i++) {
+                spin += i * id;
+            }
+            return spin == -1 ? null : backing[id];
+        };
+
+        int[] zipf = zipfTrace(itemCount, requests, skew, 17);
+        int[] withScans = zipf.clone();
+        for (int i = 0; i < withScans.length; i += 10) {
+            withScans[i] = i % itemCount;
+        }
+
+        run("zipf", zipf, store, cacheSize);
+        run("zipf with scans", withScans, store, cacheSize);
+    }
+
+    private static void run(String workload, int[] trace, ProductStore store, int cacheSize) {
+        System.out.println("\n" + workload);
+        for (String name : new String[]{"lru", "tinylfu"}) {
+            EvictionPolicy policy = name.equals("lru") ? EvictionPolicy.lru(cacheSize) : EvictionPolicy.tinyLfu(cacheSize);
+            try (ProductCache cache = new ProductCache(store, policy)) {
+                long start = System.nanoTime();
+                for (int id : trace) {
+                    cache.get(id);
+                }
+                long elapsed = System.nanoTime() - start;
+                CacheStats stats = cache.stats();
+                System.out.println(name + " hit ratio " + String.format("%.4f", stats.getHitRatio())
+                        + " evictions " + stats.getEvictions()
+                        + " requests per second " + (trace.length * 1_000_000_000L / elapsed));
+            }
+        }
+    }
+
+    static int[] zipfTrace(int itemCount, int requests, double skew, long seed) {
+        double[] cumulative = new double[itemCount];
+        double sum = 0;
+        for (int i = 0; i < itemCount; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] trace = new int[requests];
+        for (int r = 0; r < requests; r++) {
+            double target = random.nextDouble() * sum;
+            int low = 0;
+            int high = itemCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            // scatter ranks over the id space so popularity is not tied to id order
+            trace[r] = (int) ((low * 0x9E3779B97F4A7C15L >>> 1) % itemCount);
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,77 @@
+package product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class CatalogBenchmark {
+
+    public static void main(String[] args) throws NegativePriceException {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int queries = 1_000;
+
+        System.out.println("indexed product catalog benchmark\n");
+
+        SplittableRandom random = new SplittableRandom(3);
+        List<Product> list = new ArrayList<>(productCount);
+        ProductCatalog catalog = new ProductCatalog(productCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < productCount; i++) {
+            Product product = Product.ofCents(i, "item" + random.nextInt(productCount), random.nextInt(100, 100_000));
+            list.add(product);
+            catalog.add(product);
+        }
+        System.out.println("products " + productCount + " load " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        start = System.nanoTime();
+        catalog.findByPriceRange(20, 80);
+        catalog.findByNamePrefix("item1");
+        System.out.println("index build " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        long hits = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < 1_000_000; q++) {
+            if (catalog.get(random.nextInt(productCount)) != null) {
+                hits++;
+            }
+        }
+        report("id lookup", 1_000_000, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            long low = random.nextInt(100, 99_000);
+            hits += catalog.findByPriceRangeCents(low, low + 500).size();
+        }
+        report("price range query", queries, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            hits += catalog.findByNamePrefix("item" + random.nextInt(10_000)).size();
+        }
+        report("name prefix query", queries, System.nanoTime() - start);
+
+        int scanQueries = 10;
+        start = System.nanoTime();
+        for (int q = 0; q < scanQueries; q++) {
+            long low = random.nextInt(100, 99_000);
+            for (Product product : list) {
+                if (product.getPriceCents() >= low && product.getPriceCents() <= low + 500) {
+                    hits++;
+                }
+            }
+        }
+        report("linear scan price range", scanQueries, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            list.get(random.nextInt(productCount)).setPriceCents(random.nextInt(100, 100_000));
+        }
+        catalog.findByPriceRange(20, 80);
+        System.out.println("reprice 1000 and reindex " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        System.out.println("matches " + hits);
+    }
+
+    private static void report(String label, int ops, long elapsedNanos) {
+        System.out.println(label + " " + elapsedNanos / ops + "ns per op");
+    }
+}
@@ -0,0 +1,76 @@
+package product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductBench {
+    private int id;
+
+    @Benchmark
+    public Product constructFromDouble() throws NegativePriceException {
+        return new Product(++id, "product", 19.99);
+    }
+
+    @Benchmark
+    public Product constructFromCents() throws NegativePriceException {
+        return Product.ofCents(++id, "product", 1_999);
+    }
+
+    @Benchmark
+    public Object constructNegativePrice() {
+        try {
+            return new Product(++id, "product", -1);
+        } catch (NegativePriceException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public long setPrice(Priced priced) throws NegativePriceException {
+        priced.product.setPrice((++priced.priceCents & 1023) / 100.0);
+        return priced.product.getPriceCents();
+    }
+
+    @Benchmark
+    public long setPriceCents(Priced priced) throws NegativePriceException {
+        priced.product.setPriceCents(++priced.priceCents & 1023);
+        return priced.product.getPriceCents();
+    }
+
+    /** A product whose price changes, optionally indexed by a catalog that listens to it. */
+    @State(Scope.Thread)
+    public static class Priced {
+        @Param({"false", "true"})
+        public boolean listened;
+
+        private Product product;
+        private long priceCents;
+
+        @Setup
+        public void setUp() throws NegativePriceException {
+            product = Product.ofCents(1, "bench", 1_000);
+            if (listened) {
+                ProductCatalog catalog = new ProductCatalog();
+                catalog.add(product);
+                catalog.findByPriceRangeCents(0, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class RepricingBenchmark {
+    private static final String[] CATEGORIES = {"electronics", "books", "toys", "garden", "grocery"};
+
+    public static void main(String[] args) throws NegativePriceException {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("bulk repricing benchmark\n");
+
+        List<Product> products = new ArrayList<>(productCount);
+        String name = "item";
+        for (int i = 0; i < productCount; i++) {
+            products.add(Product.ofCents(i, name, CATEGORIES[i % CATEGORIES.length], 1_000 + i % 100_000));
+        }
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        products = null;
+
+        RepricingRule rule = RepricingRule.percentChange(5)
+                .andThen(RepricingRule.categoryMultipliers(Map.of("books", 0.9, "toys", 1.2)))
+                .andThen(RepricingRule.clamp(500, 150_000));
+
+        try (BulkRepricer repricer = new BulkRepricer(parallelism)) {
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                RepricingResult result = repricer.reprice(catalog, rule);
+                long elapsed = System.nanoTime() - start;
+                System.out.println("round " + round + " changed " + result.getChanged() + " version "
+                        + result.getVersion() + " took " + elapsed / 1_000_000 + "ms");
+            }
+
+            long before = catalog.getVersion();
+            RepricingResult rejected = repricer.reprice(catalog, RepricingRule.percentChange(-150).onlyInCategory("garden"));
+            System.out.println("\ninvalid rule applied " + rejected.isApplied() + " failures " + rejected.getFailureCount()
+                    + " version unchanged " + (catalog.getVersion() == before));
+        }
+    }
+}
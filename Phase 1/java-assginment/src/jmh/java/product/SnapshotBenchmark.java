@@ -0,0 +1,93 @@
+package product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int batchSize = 10_000;
+        long durationMillis = 3_000;
+
+        System.out.println("versioned catalog read latency\n");
+
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            products.add(Product.ofCents(i, "item " + i, 1_000 + i % 50_000));
+        }
+        VersionedCatalog catalog = new VersionedCatalog(products);
+
+        System.out.println("readers only");
+        run(catalog, readers, durationMillis, 0, productCount);
+        System.out.println("\nreaders with repricing batches of " + batchSize);
+        run(catalog, readers, durationMillis, batchSize, productCount);
+    }
+
+    private static void run(VersionedCatalog catalog, int readers, long durationMillis, int batchSize, int productCount)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[][] latencies = new long[readers][];
+        long[] checksum = new long[readers];
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            int reader = r;
+            threads[r] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(reader);
+                long[] samples = new long[1 << 22];
+                int count = 0;
+                while (running.get() && count < samples.length) {
+                    long start = System.nanoTime();
+                    CatalogSnapshot snapshot = catalog.snapshot();
+                    long sum = 0;
+                    for (int i = 0; i < 16; i++) {
+                        sum += snapshot.priceCents(random.nextInt(productCount));
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                    checksum[reader] += sum;
+                }
+                latencies[reader] = Arrays.copyOf(samples, count);
+            });
+            threads[r].start();
+        }
+
+        long versions = 0;
+        long deadline = System.currentTimeMillis() + durationMillis;
+        SplittableRandom random = new SplittableRandom(99);
+        while (System.currentTimeMillis() < deadline) {
+            if (batchSize > 0) {
+                int[] ids = new int[batchSize];
+                long[] prices = new long[batchSize];
+                for (int i = 0; i < batchSize; i++) {
+                    ids[i] = random.nextInt(productCount);
+                    prices[i] = random.nextInt(100, 100_000);
+                }
+                try {
+                    catalog.reprice(ids, prices);
+                } catch (NegativePriceException e) {
+                    throw new IllegalStateException(e);
+                }
+                versions++;
+            }
+            Thread.sleep(10);
+        }
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.println("versions published " + versions + " checksum " + Arrays.stream(checksum).sum());
+        System.out.println("reads " + all.length * 16L);
+        System.out.println("p50 " + percentile(all, 0.50) + "ns p99 " + percentile(all, 0.99)
+                + "ns p99.9 " + percentile(all, 0.999) + "ns per 16 reads");
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, (long) (sorted.length * p))];
+    }
+}
@@ -0,0 +1,17 @@
+package banking;
+
+public class AccountNotFoundException extends Exception {
+    private static final AccountNotFoundException STACKLESS = new AccountNotFoundException("account not found", false);
+
+    public AccountNotFoundException(String message) {
+        super(message);
+    }
+
+    public AccountNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static AccountNotFoundException stackless() {
+        return STACKLESS;
+    }
+}
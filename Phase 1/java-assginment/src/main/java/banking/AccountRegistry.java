@@ -0,0 +1,441 @@
+package banking;
+
+import common.Money;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class AccountRegistry implements Closeable {
+    private static final int DEFAULT_STRIPES = 1024;
+    static final int MAX_HOLDER_NAME_BYTES = 1024;
+
+    private final ConcurrentHashMap<Integer, BankAccount> accounts;
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final ReentrantLock snapshotGuard = new ReentrantLock();
+
+    private TransactionJournal journal;
+    private long snapshotEvery;
+    private volatile boolean stacklessFailures;
+
+    public AccountRegistry() {
+        this(16, DEFAULT_STRIPES);
+    }
+
+    public AccountRegistry(int expectedAccounts, int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.accounts = new ConcurrentHashMap<>(expectedAccounts);
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public static AccountRegistry recover(Path directory, FsyncPolicy policy, long snapshotEvery) throws IOException {
+        AccountRegistry registry = new AccountRegistry(16, DEFAULT_STRIPES);
+        long epoch = TransactionJournal.replay(directory, registry);
+        registry.journal = new TransactionJournal(directory, policy, epoch);
+        registry.snapshotEvery = snapshotEvery;
+        return registry;
+    }
+
+    public BankAccount open(int accountNumber, String holderName, double initialBalance) throws InvalidAmountException {
+        if (initialBalance < 0) {
+            throw invalidAmount("initial balance cannot be negative");
+        }
+        return openCents(accountNumber, holderName, Money.fromDouble(initialBalance));
+    }
+
+    public BankAccount openCents(int accountNumber, String holderName, long initialBalanceCents) throws InvalidAmountException {
+        if (initialBalanceCents < 0) {
+            throw invalidAmount("initial balance cannot be negative");
+        }
+        // the journal and snapshot store the name behind a short length inside a fixed-size buffer
+        if (holderName.length() > MAX_HOLDER_NAME_BYTES / 3
+                && holderName.getBytes(StandardCharsets.UTF_8).length > MAX_HOLDER_NAME_BYTES) {
+            throw new IllegalArgumentException("holder name longer than " + MAX_HOLDER_NAME_BYTES + " bytes");
+        }
+        BankAccount account = BankAccount.ofCents(accountNumber, holderName, initialBalanceCents);
+        long seq = 0;
+        ReentrantLock lock = lockFor(accountNumber);
+        lock.lock();
+        try {
+            if (accounts.putIfAbsent(accountNumber, account) != null) {
+                throw new IllegalArgumentException("account " + accountNumber + " already exists");
+            }
+            if (journal != null) {
+                seq = journal.appendOpen(accountNumber, holderName, initialBalanceCents);
+            }
+        } finally {
+            lock.unlock();
+        }
+        commit(seq);
+        return account;
+    }
+
+    public BankAccount get(int accountNumber) throws AccountNotFoundException {
+        BankAccount account = accounts.get(accountNumber);
+        if (account == null) {
+            throw accountNotFound(accountNumber);
+        }
+        return account;
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    public void setStacklessFailures(boolean stacklessFailures) {
+        this.stacklessFailures = stacklessFailures;
+    }
+
+    public void deposit(int accountNumber, double amount) throws InvalidAmountException, AccountNotFoundException {
+        if (amount <= 0) {
+            throw invalidAmount("deposit amount must be positive");
+        }
+        depositCents(accountNumber, Money.fromDouble(amount));
+    }
+
+    public void depositCents(int accountNumber, long amountCents) throws InvalidAmountException, AccountNotFoundException {
+        byte result = tryDepositCents(accountNumber, amountCents);
+        if (result == TransactionResult.INVALID_AMOUNT) {
+            throw invalidAmount(amountCents <= 0 ? "deposit amount must be positive" : "deposit would overflow the balance");
+        }
+        if (result == TransactionResult.ACCOUNT_NOT_FOUND) {
+            throw accountNotFound(accountNumber);
+        }
+    }
+
+    public byte tryDepositCents(int accountNumber, long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        BankAccount account = accounts.get(accountNumber);
+        if (account == null) {
+            return TransactionResult.ACCOUNT_NOT_FOUND;
+        }
+        long seq = 0;
+        ReentrantLock lock = lockFor(accountNumber);
+        lock.lock();
+        try {
+            account.credit(amountCents);
+            if (journal != null) {
+                seq = journal.append(TransactionJournal.DEPOSIT, accountNumber, amountCents);
+            }
+        } catch (ArithmeticException e) {
+            return TransactionResult.INVALID_AMOUNT;
+        } finally {
+            lock.unlock();
+        }
+        commit(seq);
+        return TransactionResult.OK;
+    }
+
+    public void withdraw(int accountNumber, double amount)
+            throws InvalidAmountException, InsufficientBalanceException, AccountNotFoundException {
+        if (amount <= 0) {
+            throw invalidAmount("withdrawal amount must be positive");
+        }
+        withdrawCents(accountNumber, Money.fromDouble(amount));
+    }
+
+    public void withdrawCents(int accountNumber, long amountCents)
+            throws InvalidAmountException, InsufficientBalanceException, AccountNotFoundException {
+        byte result = tryWithdrawCents(accountNumber, amountCents);
+        if (result == TransactionResult.INVALID_AMOUNT) {
+            throw invalidAmount("withdrawal amount must be positive");
+        }
+        if (result == TransactionResult.ACCOUNT_NOT_FOUND) {
+            throw accountNotFound(accountNumber);
+        }
+        if (result == TransactionResult.INSUFFICIENT_BALANCE) {
+            throw insufficientBalance(accountNumber);
+        }
+    }
+
+    public byte tryWithdrawCents(int accountNumber, long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        BankAccount account = accounts.get(accountNumber);
+        if (account == null) {
+            return TransactionResult.ACCOUNT_NOT_FOUND;
+        }
+        long seq = 0;
+        ReentrantLock lock = lockFor(accountNumber);
+        lock.lock();
+        try {
+            if (!account.debit(amountCents)) {
+                return TransactionResult.INSUFFICIENT_BALANCE;
+            }
+            if (journal != null) {
+                seq = journal.append(TransactionJournal.WITHDRAW, accountNumber, amountCents);
+            }
+        } finally {
+            lock.unlock();
+        }
+        commit(seq);
+        return TransactionResult.OK;
+    }
+
+    public void transfer(int fromAccount, int toAccount, double amount)
+            throws InvalidAmountException, InsufficientBalanceException, AccountNotFoundException {
+        if (amount <= 0) {
+            throw invalidAmount("transfer amount must be positive");
+        }
+        transferCents(fromAccount, toAccount, Money.fromDouble(amount));
+    }
+
+    public void transferCents(int fromAccount, int toAccount, long amountCents)
+            throws InvalidAmountException, InsufficientBalanceException, AccountNotFoundException {
+        byte result = tryTransferCents(fromAccount, toAccount, amountCents);
+        if (result == TransactionResult.INVALID_AMOUNT) {
+            throw invalidAmount(amountCents <= 0 ? "transfer amount must be positive" : "transfer would overflow the balance");
+        }
+        if (result == TransactionResult.ACCOUNT_NOT_FOUND) {
+            throw accountNotFound(accounts.containsKey(fromAccount) ? toAccount : fromAccount);
+        }
+        if (result == TransactionResult.INSUFFICIENT_BALANCE) {
+            throw insufficientBalance(fromAccount);
+        }
+    }
+
+    public byte tryTransferCents(int fromAccount, int toAccount, long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        BankAccount from = accounts.get(fromAccount);
+        BankAccount to = accounts.get(toAccount);
+        if (from == null || to == null) {
+            return TransactionResult.ACCOUNT_NOT_FOUND;
+        }
+        long seq = 0;
+
+        // always take the lower stripe first so two opposite transfers cannot deadlock
+        int first = stripe(fromAccount);
+        int second = stripe(toAccount);
+        if (first > second) {
+            int tmp = first;
+            first = second;
+            second = tmp;
+        }
+        locks[first].lock();
+        if (second != first) {
+            locks[second].lock();
+        }
+        try {
+            if (!from.debit(amountCents)) {
+                return TransactionResult.INSUFFICIENT_BALANCE;
+            }
+            try {
+                to.credit(amountCents);
+            } catch (ArithmeticException e) {
+                from.credit(amountCents);
+                return TransactionResult.INVALID_AMOUNT;
+            }
+            if (journal != null) {
+                seq = journal.appendTransfer(fromAccount, toAccount, amountCents);
+            }
+        } finally {
+            if (second != first) {
+                locks[second].unlock();
+            }
+            locks[first].unlock();
+        }
+        commit(seq);
+        return TransactionResult.OK;
+    }
+
+    public byte[] applyBatch(TransactionBatch batch) {
+        byte[] results = new byte[batch.size()];
+        applyBatch(batch, results);
+        return results;
+    }
+
+    public int applyBatch(TransactionBatch batch, byte[] results) {
+        int size = batch.size();
+        if (results.length < size) {
+            throw new IllegalArgumentException("result vector too small for batch");
+        }
+
+        BankAccount[] targets = new BankAccount[size];
+        for (int i = 0; i < size; i++) {
+            byte operation = batch.operation(i);
+            if (operation != TransactionBatch.DEPOSIT && operation != TransactionBatch.WITHDRAW) {
+                results[i] = TransactionResult.INVALID_OPERATION;
+            } else if (batch.amountCents(i) <= 0) {
+                results[i] = TransactionResult.INVALID_AMOUNT;
+            } else if ((targets[i] = accounts.get(batch.account(i))) == null) {
+                results[i] = TransactionResult.ACCOUNT_NOT_FOUND;
+            } else {
+                results[i] = TransactionResult.OK;
+            }
+        }
+
+        int applied = 0;
+        long seq = 0;
+        for (int i = 0; i < size; i++) {
+            if (results[i] != TransactionResult.OK) {
+                continue;
+            }
+            int accountNumber = batch.account(i);
+            long amountCents = batch.amountCents(i);
+            boolean deposit = batch.operation(i) == TransactionBatch.DEPOSIT;
+            ReentrantLock lock = lockFor(accountNumber);
+            lock.lock();
+            try {
+                if (deposit) {
+                    targets[i].credit(amountCents);
+                } else if (!targets[i].debit(amountCents)) {
+                    results[i] = TransactionResult.INSUFFICIENT_BALANCE;
+                    continue;
+                }
+                if (journal != null) {
+                    seq = journal.append(deposit ? TransactionJournal.DEPOSIT : TransactionJournal.WITHDRAW,
+                            accountNumber, amountCents);
+                }
+            } catch (ArithmeticException e) {
+                results[i] = TransactionResult.INVALID_AMOUNT;
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            applied++;
+        }
+        commit(seq);
+        return applied;
+    }
+
+    public long applyStream(DataInputStream in, OutputStream results, int chunkSize) throws IOException {
+        TransactionBatch batch = new TransactionBatch(chunkSize);
+        byte[] chunkResults = new byte[chunkSize];
+        long total = 0;
+        while (true) {
+            batch.clear();
+            int read = batch.readFrom(in, chunkSize);
+            if (read == 0) {
+                return total;
+            }
+            applyBatch(batch, chunkResults);
+            results.write(chunkResults, 0, read);
+            total += read;
+        }
+    }
+
+    public double totalBalance() {
+        return Money.toDouble(totalBalanceCents());
+    }
+
+    public long totalBalanceCents() {
+        lockAll();
+        try {
+            long total = 0;
+            for (BankAccount account : accounts.values()) {
+                total = Money.add(total, account.getBalanceCents());
+            }
+            return total;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    public void snapshot() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("registry has no journal");
+        }
+        lockAll();
+        try {
+            journal.checkpoint(accounts.values());
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    void restore(int accountNumber, String holderName, long balanceCents) {
+        accounts.put(accountNumber, BankAccount.ofCents(accountNumber, holderName, balanceCents));
+    }
+
+    void replayCredit(int accountNumber, long amountCents) {
+        accounts.get(accountNumber).credit(amountCents);
+    }
+
+    void replayDebit(int accountNumber, long amountCents) {
+        accounts.get(accountNumber).debit(amountCents);
+    }
+
+    void replayTransfer(int fromAccount, int toAccount, long amountCents) {
+        accounts.get(fromAccount).debit(amountCents);
+        accounts.get(toAccount).credit(amountCents);
+    }
+
+    private AccountNotFoundException accountNotFound(int accountNumber) {
+        return stacklessFailures ? AccountNotFoundException.stackless()
+                : new AccountNotFoundException("account " + accountNumber + " not found");
+    }
+
+    private InvalidAmountException invalidAmount(String message) {
+        return stacklessFailures ? InvalidAmountException.stackless() : new InvalidAmountException(message);
+    }
+
+    private InsufficientBalanceException insufficientBalance(int accountNumber) {
+        if (stacklessFailures) {
+            return InsufficientBalanceException.stackless();
+        }
+        long balanceCents = accounts.get(accountNumber).getBalanceCents();
+        return new InsufficientBalanceException("insufficient balance current balance is " + Money.format(balanceCents));
+    }
+
+    private void commit(long seq) {
+        if (seq == 0) {
+            return;
+        }
+        journal.commit(seq);
+        if (snapshotEvery > 0 && journal.recordsSinceSnapshot() >= snapshotEvery && snapshotGuard.tryLock()) {
+            try {
+                if (journal.recordsSinceSnapshot() >= snapshotEvery) {
+                    snapshot();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("snapshot failed", e);
+            } finally {
+                snapshotGuard.unlock();
+            }
+        }
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(int accountNumber) {
+        return locks[stripe(accountNumber)];
+    }
+
+    private int stripe(int accountNumber) {
+        int h = accountNumber * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
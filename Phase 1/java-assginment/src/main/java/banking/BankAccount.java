@@ -1,53 +1,132 @@
 package banking;
 
-public class BankAccount {
-    private static int totalAccounts = 0;
+import common.Money;
+import common.Reportable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class BankAccount implements Reportable {
+    private static final LongAdder totalAccounts = new LongAdder();
 
     private int accountNumber;
     private String holderName;
-    private double balance;
+    private long balanceCents;
+
+    protected BankAccount() {
+    }
 
     public BankAccount(int accountNumber, String holderName, double initialBalance) {
+        this(accountNumber, holderName, Money.fromDouble(initialBalance));
+    }
+
+    private BankAccount(int accountNumber, String holderName, long initialBalanceCents) {
         this.accountNumber = accountNumber;
         this.holderName = holderName;
-        this.balance = initialBalance;
-        totalAccounts++;
+        this.balanceCents = initialBalanceCents;
+        totalAccounts.increment();
+    }
+
+    public static BankAccount ofCents(int accountNumber, String holderName, long initialBalanceCents) {
+        return new BankAccount(accountNumber, holderName, initialBalanceCents);
     }
 
     public void deposit(double amount) throws InvalidAmountException {
         if (amount <= 0) {
             throw new InvalidAmountException("deposit amount must be positive");
         }
-        balance += amount;
-        System.out.println("deposited " + amount);
-        System.out.println("new balance " + balance);
+        depositCents(Money.fromDouble(amount));
+    }
+
+    public synchronized void depositCents(long amountCents) throws InvalidAmountException {
+        if (amountCents <= 0) {
+            throw new InvalidAmountException("deposit amount must be positive");
+        }
+        balanceCents = Money.add(balanceCents, amountCents);
+        System.out.println("deposited " + Money.format(amountCents));
+        System.out.println("new balance " + Money.format(balanceCents));
     }
 
     public void withdraw(double amount) throws InvalidAmountException, InsufficientBalanceException {
         if (amount <= 0) {
             throw new InvalidAmountException("withdrawal amount must be positive");
         }
-        if (amount > balance) {
-            throw new InsufficientBalanceException("insufficient balance current balance is " + balance);
+        withdrawCents(Money.fromDouble(amount));
+    }
+
+    public synchronized void withdrawCents(long amountCents) throws InvalidAmountException, InsufficientBalanceException {
+        if (amountCents <= 0) {
+            throw new InvalidAmountException("withdrawal amount must be positive");
+        }
+        if (amountCents > balanceCents) {
+            throw new InsufficientBalanceException("insufficient balance current balance is " + Money.format(balanceCents));
         }
-        balance -= amount;
-        System.out.println("withdrew " + amount);
-        System.out.println("new balance " + balance);
+        balanceCents -= amountCents;
+        System.out.println("withdrew " + Money.format(amountCents));
+        System.out.println("new balance " + Money.format(balanceCents));
+    }
+
+    public synchronized byte tryDepositCents(long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        if (amountCents > Long.MAX_VALUE - balanceCents) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        balanceCents += amountCents;
+        return TransactionResult.OK;
+    }
+
+    public synchronized byte tryWithdrawCents(long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        if (amountCents > balanceCents) {
+            return TransactionResult.INSUFFICIENT_BALANCE;
+        }
+        balanceCents -= amountCents;
+        return TransactionResult.OK;
+    }
+
+    synchronized void credit(long amountCents) {
+        balanceCents = Money.add(balanceCents, amountCents);
+    }
+
+    synchronized boolean debit(long amountCents) {
+        if (amountCents > balanceCents) {
+            return false;
+        }
+        balanceCents -= amountCents;
+        return true;
+    }
+
+    public int getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getHolderName() {
+        return holderName;
     }
 
     public double getBalance() {
-        return balance;
+        return Money.toDouble(getBalanceCents());
+    }
+
+    public synchronized long getBalanceCents() {
+        return balanceCents;
     }
 
-    public void displayDetails() {
-        System.out.println("\naccount details");
-        System.out.println("account number " + accountNumber);
-        System.out.println("holder name " + holderName);
-        System.out.println("balance " + balance);
+    @Override
+    public synchronized void appendDetails(StringBuilder out) {
+        out.append("\naccount details\n");
+        out.append("account number ").append(accountNumber).append('\n');
+        out.append("holder name ").append(holderName).append('\n');
+        out.append("balance ");
+        Money.appendTo(out, balanceCents);
+        out.append('\n');
     }
 
     public static int getTotalAccounts() {
-        return totalAccounts;
+        return totalAccounts.intValue();
     }
 
     public static void displayTotalAccounts() {
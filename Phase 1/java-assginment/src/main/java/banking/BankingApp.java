@@ -1,25 +1,43 @@
 package banking;
 
+import common.Money;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class BankingApp {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Scanner sc = new Scanner(System.in);
 
         System.out.println("mini banking application\n");
 
+        AccountRegistry registry = AccountRegistry.recover(Path.of("bank-data"), FsyncPolicy.everyOp(), 1000);
+        System.out.println("recovered accounts " + registry.size());
+
         System.out.print("enter account number ");
         int accNum = sc.nextInt();
         sc.nextLine();
 
-        System.out.print("enter account holder name ");
-        String name = sc.nextLine();
+        BankAccount account;
+        try {
+            account = registry.get(accNum);
+        } catch (AccountNotFoundException e) {
+            System.out.print("enter account holder name ");
+            String name = sc.nextLine();
 
-        System.out.print("enter initial balance ");
-        double initialBalance = sc.nextDouble();
+            System.out.print("enter initial balance ");
+            double initialBalance = sc.nextDouble();
 
-        BankAccount account = new BankAccount(accNum, name, initialBalance);
+            try {
+                account = registry.open(accNum, name, initialBalance);
+            } catch (InvalidAmountException ex) {
+                System.out.println("error " + ex.getMessage());
+                registry.close();
+                return;
+            }
+        }
         account.displayDetails();
 
         while (true) {
@@ -35,15 +53,17 @@ public class BankingApp {
                 if (choice == 1) {
                     System.out.print("enter deposit amount ");
                     double amount = sc.nextDouble();
-                    account.deposit(amount);
+                    registry.deposit(accNum, amount);
+                    System.out.println("new balance " + Money.format(account.getBalanceCents()));
 
                 } else if (choice == 2) {
                     System.out.print("enter withdrawal amount ");
                     double amount = sc.nextDouble();
-                    account.withdraw(amount);
+                    registry.withdraw(accNum, amount);
+                    System.out.println("new balance " + Money.format(account.getBalanceCents()));
 
                 } else if (choice == 3) {
-                    System.out.println("current balance " + account.getBalance());
+                    System.out.println("current balance " + Money.format(account.getBalanceCents()));
 
                 } else if (choice == 4) {
                     System.out.println("thank you for using our banking app");
@@ -53,11 +73,12 @@ public class BankingApp {
                     System.out.println("invalid option");
                 }
 
-            } catch (InvalidAmountException | InsufficientBalanceException e) {
+            } catch (InvalidAmountException | InsufficientBalanceException | AccountNotFoundException e) {
                 System.out.println("error " + e.getMessage());
             }
         }
 
+        registry.close();
         BankAccount.displayTotalAccounts();
         sc.close();
     }
@@ -0,0 +1,61 @@
+package banking;
+
+public final class FsyncPolicy {
+
+    public enum Mode {
+        EVERY_OP,
+        BATCHED,
+        INTERVAL
+    }
+
+    private final Mode mode;
+    private final int batchSize;
+    private final long intervalMillis;
+
+    private FsyncPolicy(Mode mode, int batchSize, long intervalMillis) {
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public static FsyncPolicy everyOp() {
+        return new FsyncPolicy(Mode.EVERY_OP, 1, 0);
+    }
+
+    public static FsyncPolicy batched(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        return new FsyncPolicy(Mode.BATCHED, batchSize, 0);
+    }
+
+    public static FsyncPolicy interval(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        return new FsyncPolicy(Mode.INTERVAL, Integer.MAX_VALUE, intervalMillis);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (mode == Mode.BATCHED) {
+            return "batched " + batchSize;
+        }
+        if (mode == Mode.INTERVAL) {
+            return "interval " + intervalMillis + "ms";
+        }
+        return "every op";
+    }
+}
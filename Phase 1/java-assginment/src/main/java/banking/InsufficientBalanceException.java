@@ -1,8 +1,17 @@
 package banking;
 
 public class InsufficientBalanceException extends Exception {
+    private static final InsufficientBalanceException STACKLESS = new InsufficientBalanceException("insufficient balance", false);
 
     public InsufficientBalanceException(String message) {
         super(message);
     }
+
+    public InsufficientBalanceException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static InsufficientBalanceException stackless() {
+        return STACKLESS;
+    }
 }
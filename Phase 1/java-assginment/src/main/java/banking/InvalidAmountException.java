@@ -1,8 +1,17 @@
 package banking;
 
 public class InvalidAmountException extends Exception {
+    private static final InvalidAmountException STACKLESS = new InvalidAmountException("amount must be positive", false);
 
     public InvalidAmountException(String message) {
         super(message);
     }
+
+    public InvalidAmountException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static InvalidAmountException stackless() {
+        return STACKLESS;
+    }
 }
@@ -0,0 +1,290 @@
+package banking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fixed-width account records in a memory-mapped file, addressed through an open-addressing
+ * hash table that lives in the file itself, so reopening needs no load phase.
+ *
+ * <p>The file is a 64 byte header ({@code int magic, int version, long capacity, long size,
+ * int dirty}) followed by {@code capacity} 64 byte slots laid out as {@code int state, int accountNumber,
+ * long balanceCents, byte nameLength, byte[47] utf-8 name}. Values are in native byte order.
+ * A store that was not closed cleanly is scanned once on open to retire half-written slots.
+ */
+public class MappedAccountStore implements Closeable {
+    static final int RECORD_SIZE = 64;
+    static final int MAX_NAME_BYTES = RECORD_SIZE - 17;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x4D414343;
+    private static final int VERSION = 1;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int DIRTY_OFFSET = 24;
+
+    private static final int STATE = 0;
+    private static final int ACCOUNT = 4;
+    private static final int BALANCE = 8;
+    private static final int NAME_LENGTH = 16;
+    private static final int NAME = 17;
+
+    private static final int EMPTY = 0;
+    private static final int CLAIMED = 1;
+    private static final int LIVE = 2;
+    private static final int RETIRED = 3;
+
+    private static final int SEGMENT_SHIFT = 24;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final long capacity;
+    private final long mask;
+
+    private MappedAccountStore(FileChannel channel, long capacity) throws IOException {
+        this.channel = channel;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.header.order(ByteOrder.nativeOrder());
+
+        int segmentCount = (int) ((capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long firstSlot = (long) i << SEGMENT_SHIFT;
+            long slots = Math.min(1L << SEGMENT_SHIFT, capacity - firstSlot);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + firstSlot * RECORD_SIZE, slots * RECORD_SIZE);
+        }
+    }
+
+    public static MappedAccountStore open(Path file, long expectedAccounts) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                long capacity = Long.highestOneBit(Math.max(2, expectedAccounts * 2 - 1)) << 1;
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + capacity * RECORD_SIZE - 1);
+                MappedAccountStore store = new MappedAccountStore(channel, capacity);
+                store.header.putInt(0, MAGIC).putInt(4, VERSION).putLong(CAPACITY_OFFSET, capacity);
+                store.markDirty();
+                return store;
+            }
+
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            existing.order(ByteOrder.nativeOrder());
+            if (existing.getInt(0) != MAGIC || existing.getInt(4) != VERSION) {
+                throw new IOException("not an account store " + file);
+            }
+            long capacity = existing.getLong(CAPACITY_OFFSET);
+            if (channel.size() != HEADER_SIZE + capacity * RECORD_SIZE) {
+                throw new IOException("account store has wrong size " + file);
+            }
+            MappedAccountStore store = new MappedAccountStore(channel, capacity);
+            if (existing.getInt(DIRTY_OFFSET) != 0) {
+                store.retireClaimedSlots();
+            }
+            store.markDirty();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long insert(int accountNumber, String holderName, long balanceCents) throws InvalidAmountException {
+        if (balanceCents < 0) {
+            throw new InvalidAmountException("initial balance cannot be negative");
+        }
+        byte[] name = encodeName(holderName);
+        long slot = hash(accountNumber) & mask;
+        for (long probes = 0; probes < capacity; probes++, slot = (slot + 1) & mask) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if (awaitSettled(segment, offset) == EMPTY
+                    && INT.compareAndSet(segment, offset + STATE, EMPTY, CLAIMED)) {
+                INT.set(segment, offset + ACCOUNT, accountNumber);
+                LONG.set(segment, offset + BALANCE, balanceCents);
+                segment.put(offset + NAME_LENGTH, (byte) name.length);
+                segment.put(offset + NAME, name, 0, name.length);
+                INT.setRelease(segment, offset + STATE, LIVE);
+                LONG.getAndAdd(header, SIZE_OFFSET, 1L);
+                return slot;
+            }
+            // the slot is taken, possibly by a racing insert of the same account
+            if (awaitSettled(segment, offset) == LIVE && (int) INT.get(segment, offset + ACCOUNT) == accountNumber) {
+                throw new IllegalArgumentException("account " + accountNumber + " already exists");
+            }
+        }
+        throw new IllegalStateException("account store is full");
+    }
+
+    public long find(int accountNumber) {
+        long slot = hash(accountNumber) & mask;
+        for (long probes = 0; probes < capacity; probes++, slot = (slot + 1) & mask) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            int state = awaitSettled(segment, offset);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == LIVE && (int) INT.get(segment, offset + ACCOUNT) == accountNumber) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public BankAccount account(int accountNumber) throws AccountNotFoundException {
+        long slot = find(accountNumber);
+        if (slot < 0) {
+            throw new AccountNotFoundException("account " + accountNumber + " not found");
+        }
+        return new MappedBankAccount(this, slot);
+    }
+
+    public MappedBankAccount view() {
+        return new MappedBankAccount(this, -1);
+    }
+
+    public long size() {
+        return (long) LONG.getVolatile(header, SIZE_OFFSET);
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public int accountNumber(long slot) {
+        return (int) INT.get(segment(slot), offset(slot) + ACCOUNT);
+    }
+
+    public String holderName(long slot) {
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        byte[] name = new byte[segment.get(offset + NAME_LENGTH)];
+        segment.get(offset + NAME, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    public long balanceCents(long slot) {
+        return (long) LONG.getVolatile(segment(slot), offset(slot) + BALANCE);
+    }
+
+    public boolean compareAndSetBalance(long slot, long expectedCents, long newCents) {
+        return LONG.compareAndSet(segment(slot), offset(slot) + BALANCE, expectedCents, newCents);
+    }
+
+    public byte tryCredit(long slot, long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot) + BALANCE;
+        while (true) {
+            long current = (long) LONG.getVolatile(segment, offset);
+            if (amountCents > Long.MAX_VALUE - current) {
+                return TransactionResult.INVALID_AMOUNT;
+            }
+            if (LONG.compareAndSet(segment, offset, current, current + amountCents)) {
+                return TransactionResult.OK;
+            }
+        }
+    }
+
+    public byte tryDebit(long slot, long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionResult.INVALID_AMOUNT;
+        }
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot) + BALANCE;
+        while (true) {
+            long current = (long) LONG.getVolatile(segment, offset);
+            if (amountCents > current) {
+                return TransactionResult.INSUFFICIENT_BALANCE;
+            }
+            if (LONG.compareAndSet(segment, offset, current, current - amountCents)) {
+                return TransactionResult.OK;
+            }
+        }
+    }
+
+    public void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        header.putInt(DIRTY_OFFSET, 0);
+        header.force();
+        channel.close();
+    }
+
+    private void markDirty() {
+        header.putInt(DIRTY_OFFSET, 1);
+        header.force();
+    }
+
+    // a slot left CLAIMED by a crash never became visible, so it is skipped by probes from now on
+    private void retireClaimedSlots() {
+        for (long slot = 0; slot < capacity; slot++) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((int) INT.get(segment, offset + STATE) == CLAIMED) {
+                INT.set(segment, offset + STATE, RETIRED);
+            }
+        }
+    }
+
+    private static int awaitSettled(MappedByteBuffer segment, int offset) {
+        int state;
+        while ((state = (int) INT.getAcquire(segment, offset + STATE)) == CLAIMED) {
+            Thread.onSpinWait();
+        }
+        return state;
+    }
+
+    private static byte[] encodeName(String holderName) {
+        byte[] bytes = holderName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return bytes;
+        }
+        int length = MAX_NAME_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private MappedByteBuffer segment(long slot) {
+        return segments[(int) (slot >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private static long hash(int accountNumber) {
+        long h = accountNumber * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,100 @@
+package banking;
+
+import common.Money;
+
+public class MappedBankAccount extends BankAccount {
+    private final MappedAccountStore store;
+    private long slot;
+
+    MappedBankAccount(MappedAccountStore store, long slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    public MappedBankAccount moveTo(long slot) {
+        this.slot = slot;
+        return this;
+    }
+
+    public boolean moveToAccount(int accountNumber) {
+        long found = store.find(accountNumber);
+        if (found < 0) {
+            return false;
+        }
+        slot = found;
+        return true;
+    }
+
+    public long getSlot() {
+        return slot;
+    }
+
+    @Override
+    public void depositCents(long amountCents) throws InvalidAmountException {
+        if (store.tryCredit(slot, amountCents) != TransactionResult.OK) {
+            throw new InvalidAmountException("deposit amount must be positive");
+        }
+        System.out.println("deposited " + Money.format(amountCents));
+        System.out.println("new balance " + Money.format(store.balanceCents(slot)));
+    }
+
+    @Override
+    public void withdrawCents(long amountCents) throws InvalidAmountException, InsufficientBalanceException {
+        byte result = store.tryDebit(slot, amountCents);
+        if (result == TransactionResult.INVALID_AMOUNT) {
+            throw new InvalidAmountException("withdrawal amount must be positive");
+        }
+        if (result == TransactionResult.INSUFFICIENT_BALANCE) {
+            throw new InsufficientBalanceException("insufficient balance current balance is " + Money.format(store.balanceCents(slot)));
+        }
+        System.out.println("withdrew " + Money.format(amountCents));
+        System.out.println("new balance " + Money.format(store.balanceCents(slot)));
+    }
+
+    @Override
+    public byte tryDepositCents(long amountCents) {
+        return store.tryCredit(slot, amountCents);
+    }
+
+    @Override
+    public byte tryWithdrawCents(long amountCents) {
+        return store.tryDebit(slot, amountCents);
+    }
+
+    @Override
+    void credit(long amountCents) {
+        if (store.tryCredit(slot, amountCents) != TransactionResult.OK) {
+            throw new ArithmeticException("long overflow");
+        }
+    }
+
+    @Override
+    boolean debit(long amountCents) {
+        return store.tryDebit(slot, amountCents) == TransactionResult.OK;
+    }
+
+    @Override
+    public int getAccountNumber() {
+        return store.accountNumber(slot);
+    }
+
+    @Override
+    public String getHolderName() {
+        return store.holderName(slot);
+    }
+
+    @Override
+    public long getBalanceCents() {
+        return store.balanceCents(slot);
+    }
+
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\naccount details\n");
+        out.append("account number ").append(getAccountNumber()).append('\n');
+        out.append("holder name ").append(getHolderName()).append('\n');
+        out.append("balance ");
+        Money.appendTo(out, getBalanceCents());
+        out.append('\n');
+    }
+}
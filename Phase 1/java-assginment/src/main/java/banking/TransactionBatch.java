@@ -0,0 +1,86 @@
+package banking;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class TransactionBatch {
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAW = 2;
+
+    public static final int RECORD_SIZE = 1 + 4 + 8;
+
+    private byte[] operations;
+    private int[] accounts;
+    private long[] amounts;
+    private int size;
+
+    public TransactionBatch(int capacity) {
+        this.operations = new byte[capacity];
+        this.accounts = new int[capacity];
+        this.amounts = new long[capacity];
+    }
+
+    public static TransactionBatch of(byte[] operations, int[] accounts, long[] amountsCents) {
+        if (operations.length != accounts.length || accounts.length != amountsCents.length) {
+            throw new IllegalArgumentException("batch columns must have the same length");
+        }
+        TransactionBatch batch = new TransactionBatch(0);
+        batch.operations = operations;
+        batch.accounts = accounts;
+        batch.amounts = amountsCents;
+        batch.size = operations.length;
+        return batch;
+    }
+
+    public void add(int account, byte operation, long amountCents) {
+        if (size == operations.length) {
+            int capacity = Math.max(16, size * 2);
+            operations = Arrays.copyOf(operations, capacity);
+            accounts = Arrays.copyOf(accounts, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        operations[size] = operation;
+        accounts[size] = account;
+        amounts[size] = amountCents;
+        size++;
+    }
+
+    public int readFrom(DataInputStream in, int maxRecords) throws IOException {
+        int read = 0;
+        while (read < maxRecords) {
+            int operation = in.read();
+            if (operation < 0) {
+                break;
+            }
+            try {
+                add(in.readInt(), (byte) operation, in.readLong());
+            } catch (EOFException e) {
+                throw new IOException("truncated transaction record", e);
+            }
+            read++;
+        }
+        return read;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte operation(int index) {
+        return operations[index];
+    }
+
+    public int account(int index) {
+        return accounts[index];
+    }
+
+    public long amountCents(int index) {
+        return amounts[index];
+    }
+}
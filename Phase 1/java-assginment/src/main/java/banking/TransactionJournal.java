@@ -0,0 +1,367 @@
+package banking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of account mutations plus the snapshot that truncates it.
+ *
+ * <p>Each journal record is {@code [int bodyLength][int crc32c(body)][body]} where the body is
+ * {@code [byte type][int account][long amountCents]} followed by {@code [int toAccount]} for
+ * transfers or {@code [short nameLength][utf-8 name]} for opens. A record with a short or
+ * mismatching body marks a torn write and everything from it onwards is dropped on recovery.
+ *
+ * <p>The journal starts with {@code [int magic][long epoch]} and the snapshot carries the epoch the
+ * journal moves to once it is truncated. A journal whose epoch is older than the snapshot was left
+ * behind by a crash between the two steps; its records are already in the snapshot and are skipped.
+ */
+public class TransactionJournal implements Closeable {
+    static final byte OPEN = 1;
+    static final byte DEPOSIT = 2;
+    static final byte WITHDRAW = 3;
+    static final byte TRANSFER = 4;
+
+    static final String JOURNAL_FILE = "journal.log";
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private static final int HEADER_SIZE = 8;
+    private static final int JOURNAL_MAGIC = 0x4A524E4C;
+    private static final int JOURNAL_HEADER_SIZE = 12;
+    private static final int SNAPSHOT_MAGIC = 0x42414E4B;
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final FsyncPolicy policy;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private final CRC32C crc = new CRC32C();
+    private final Object commitLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    private long epoch;
+    private long appendedSeq;
+    private long recordsSinceSnapshot;
+    private volatile long durableSeq;
+    private volatile IOException failure;
+
+    TransactionJournal(Path directory, FsyncPolicy policy, long epoch) throws IOException {
+        this.directory = directory;
+        this.policy = policy;
+        this.epoch = epoch;
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (readEpoch(channel) == epoch) {
+            channel.position(channel.size());
+        } else {
+            resetJournal();
+        }
+
+        if (policy.getMode() == FsyncPolicy.Mode.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "journal-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly,
+                    policy.getIntervalMillis(), policy.getIntervalMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    synchronized long append(byte type, int account, long amountCents) {
+        return append(type, account, amountCents, 0, null);
+    }
+
+    synchronized long appendTransfer(int fromAccount, int toAccount, long amountCents) {
+        return append(TRANSFER, fromAccount, amountCents, toAccount, null);
+    }
+
+    synchronized long appendOpen(int account, String holderName, long balanceCents) {
+        return append(OPEN, account, balanceCents, 0, holderName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long append(byte type, int account, long amountCents, int toAccount, byte[] name) {
+        int bodyLength = 1 + 4 + 8;
+        if (type == TRANSFER) {
+            bodyLength += 4;
+        } else if (type == OPEN) {
+            bodyLength += 2 + name.length;
+        }
+        if (buffer.remaining() < HEADER_SIZE + bodyLength) {
+            writeBuffer();
+        }
+
+        int start = buffer.position();
+        buffer.putInt(bodyLength).putInt(0);
+        buffer.put(type).putInt(account).putLong(amountCents);
+        if (type == TRANSFER) {
+            buffer.putInt(toAccount);
+        } else if (type == OPEN) {
+            buffer.putShort((short) name.length).put(name);
+        }
+
+        ByteBuffer body = buffer.duplicate();
+        body.position(start + HEADER_SIZE).limit(start + HEADER_SIZE + bodyLength);
+        crc.reset();
+        crc.update(body);
+        buffer.putInt(start + 4, (int) crc.getValue());
+
+        recordsSinceSnapshot++;
+        return ++appendedSeq;
+    }
+
+    void commit(long seq) {
+        switch (policy.getMode()) {
+            case EVERY_OP:
+                sync(seq);
+                break;
+            case BATCHED:
+                if (seq - durableSeq >= policy.getBatchSize()) {
+                    sync(seq);
+                }
+                break;
+            default:
+                break;
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("journal write failed", error);
+        }
+    }
+
+    synchronized long recordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    // the first waiter to get the commit lock forces everything appended so far, later waiters find their seq already durable
+    private void sync(long seq) {
+        synchronized (commitLock) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            long upTo;
+            synchronized (this) {
+                writeBuffer();
+                upTo = appendedSeq;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                return;
+            }
+            durableSeq = upTo;
+        }
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        buffer.clear();
+    }
+
+    private void flushQuietly() {
+        long seq;
+        synchronized (this) {
+            seq = appendedSeq;
+        }
+        sync(seq);
+    }
+
+    void checkpoint(Collection<BankAccount> accounts) throws IOException {
+        synchronized (commitLock) {
+            synchronized (this) {
+                long nextEpoch = epoch + 1;
+                Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer snapshot = ByteBuffer.allocate(1 << 16);
+                    CRC32C snapshotCrc = new CRC32C();
+                    snapshot.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(nextEpoch).putInt(accounts.size());
+                    for (BankAccount account : accounts) {
+                        byte[] name = account.getHolderName().getBytes(StandardCharsets.UTF_8);
+                        if (snapshot.remaining() < 14 + name.length + 8) {
+                            drain(out, snapshot, snapshotCrc);
+                        }
+                        snapshot.putInt(account.getAccountNumber()).putLong(account.getBalanceCents());
+                        snapshot.putShort((short) name.length).put(name);
+                    }
+                    drain(out, snapshot, snapshotCrc);
+                    snapshot.putLong(snapshotCrc.getValue());
+                    snapshot.flip();
+                    while (snapshot.hasRemaining()) {
+                        out.write(snapshot);
+                    }
+                    out.force(true);
+                }
+                Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                // from here until the new header is forced, recovery sees an older journal epoch and skips it
+                epoch = nextEpoch;
+                buffer.clear();
+                resetJournal();
+                recordsSinceSnapshot = 0;
+                durableSeq = appendedSeq;
+            }
+        }
+    }
+
+    private void resetJournal() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC).putLong(epoch).flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    // -1 for a missing or torn header, which recovery treats as an empty journal
+    private static long readEpoch(FileChannel journal) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (journal.read(header, header.position()) < 0) {
+                return -1;
+            }
+        }
+        header.flip();
+        return header.getInt() == JOURNAL_MAGIC ? header.getLong() : -1;
+    }
+
+    private static void drain(FileChannel out, ByteBuffer snapshot, CRC32C snapshotCrc) throws IOException {
+        snapshot.flip();
+        snapshotCrc.update(snapshot.duplicate());
+        while (snapshot.hasRemaining()) {
+            out.write(snapshot);
+        }
+        snapshot.clear();
+    }
+
+    // returns the epoch the reopened journal must carry
+    static long replay(Path directory, AccountRegistry registry) throws IOException {
+        long epoch = 0;
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            epoch = loadSnapshot(snapshotFile, registry);
+        }
+        Path journalFile = directory.resolve(JOURNAL_FILE);
+        if (Files.exists(journalFile)) {
+            replayJournal(journalFile, epoch, registry);
+        }
+        return epoch;
+    }
+
+    private static long loadSnapshot(Path file, AccountRegistry registry) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() < 28 || data.getInt() != SNAPSHOT_MAGIC || data.getInt() != SNAPSHOT_VERSION) {
+            throw new IOException("not a snapshot file " + file);
+        }
+        CRC32C snapshotCrc = new CRC32C();
+        ByteBuffer covered = data.duplicate();
+        covered.position(0).limit(data.limit() - 8);
+        snapshotCrc.update(covered);
+        if (snapshotCrc.getValue() != data.getLong(data.limit() - 8)) {
+            throw new IOException("snapshot checksum mismatch " + file);
+        }
+
+        long epoch = data.getLong();
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            int account = data.getInt();
+            long balanceCents = data.getLong();
+            byte[] name = new byte[data.getShort() & 0xFFFF];
+            data.get(name);
+            registry.restore(account, new String(name, StandardCharsets.UTF_8), balanceCents);
+        }
+        return epoch;
+    }
+
+    private static void replayJournal(Path file, long snapshotEpoch, AccountRegistry registry) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() < JOURNAL_HEADER_SIZE || data.getInt() != JOURNAL_MAGIC) {
+            return;
+        }
+        long journalEpoch = data.getLong();
+        if (journalEpoch < snapshotEpoch) {
+            return;
+        }
+        if (journalEpoch > snapshotEpoch) {
+            throw new IOException("journal epoch " + journalEpoch + " is ahead of snapshot epoch " + snapshotEpoch);
+        }
+        CRC32C recordCrc = new CRC32C();
+        long valid = data.position();
+        while (data.remaining() >= HEADER_SIZE) {
+            int bodyLength = data.getInt();
+            int expectedCrc = data.getInt();
+            if (bodyLength < 13 || bodyLength > data.remaining()) {
+                break;
+            }
+            ByteBuffer body = data.slice();
+            body.limit(bodyLength);
+            recordCrc.reset();
+            recordCrc.update(body.duplicate());
+            if ((int) recordCrc.getValue() != expectedCrc) {
+                break;
+            }
+            data.position(data.position() + bodyLength);
+            apply(body, registry);
+            valid = data.position();
+        }
+
+        if (valid < data.limit()) {
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                out.truncate(valid);
+                out.force(true);
+            }
+        }
+    }
+
+    private static void apply(ByteBuffer body, AccountRegistry registry) {
+        byte type = body.get();
+        int account = body.getInt();
+        long amountCents = body.getLong();
+        if (type == OPEN) {
+            byte[] name = new byte[body.getShort() & 0xFFFF];
+            body.get(name);
+            registry.restore(account, new String(name, StandardCharsets.UTF_8), amountCents);
+        } else if (type == TRANSFER) {
+            registry.replayTransfer(account, body.getInt(), amountCents);
+        } else if (type == DEPOSIT) {
+            registry.replayCredit(account, amountCents);
+        } else if (type == WITHDRAW) {
+            registry.replayDebit(account, amountCents);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushQuietly();
+        channel.close();
+    }
+}
@@ -0,0 +1,29 @@
+package banking;
+
+public final class TransactionResult {
+    public static final byte OK = 0;
+    public static final byte INVALID_AMOUNT = 1;
+    public static final byte INSUFFICIENT_BALANCE = 2;
+    public static final byte ACCOUNT_NOT_FOUND = 3;
+    public static final byte INVALID_OPERATION = 4;
+
+    private TransactionResult() {
+    }
+
+    public static String describe(byte result) {
+        switch (result) {
+            case OK:
+                return "ok";
+            case INVALID_AMOUNT:
+                return "invalid amount";
+            case INSUFFICIENT_BALANCE:
+                return "insufficient balance";
+            case ACCOUNT_NOT_FOUND:
+                return "account not found";
+            case INVALID_OPERATION:
+                return "invalid operation";
+            default:
+                return "unknown result " + result;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package codec;
+
+import org.example.Customer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Customer record, version 1: {@code [version][varint id][string name][string email]}.
+ */
+public class CustomerCodec extends RecordCodec<Customer> {
+    private static final byte VERSION = 1;
+
+    @Override
+    protected byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public int encodedSize(Customer customer) {
+        return 1 + varIntSize(customer.getId()) + stringSize(customer.getName()) + stringSize(customer.getEmail());
+    }
+
+    @Override
+    protected void encodeFields(Customer customer, ByteBuffer out) {
+        writeVarInt(out, customer.getId());
+        writeString(out, customer.getName());
+        writeString(out, customer.getEmail());
+    }
+
+    @Override
+    protected Customer decodeFields(ByteBuffer in) throws MalformedRecordException {
+        int id = readVarInt(in);
+        String name = readString(in);
+        String email = readString(in);
+        return new Customer(id, name, email);
+    }
+}
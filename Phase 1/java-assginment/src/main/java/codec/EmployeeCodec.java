@@ -0,0 +1,78 @@
+package codec;
+
+import employee.Employee;
+import employee.FullTimeEmployee;
+import employee.PartTimeEmployee;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Employee record, version 1: {@code [version][byte kind][varint id][string name][string department]}
+ * followed by {@code [long monthlySalaryCents]} for full time or
+ * {@code [long hourlyRateCents][int hoursWorked]} for part time employees. Kind is 0 for a plain
+ * employee, 1 for full time and 2 for part time. Salary listeners are not encoded.
+ */
+public class EmployeeCodec extends RecordCodec<Employee> {
+    private static final byte VERSION = 1;
+
+    private static final byte PLAIN = 0;
+    private static final byte FULL_TIME = 1;
+    private static final byte PART_TIME = 2;
+
+    @Override
+    protected byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public int encodedSize(Employee employee) {
+        int size = 2 + varIntSize(employee.getId()) + stringSize(employee.getName())
+                + stringSize(employee.getDepartment());
+        if (employee instanceof FullTimeEmployee) {
+            size += Long.BYTES;
+        } else if (employee instanceof PartTimeEmployee) {
+            size += Long.BYTES + Integer.BYTES;
+        }
+        return size;
+    }
+
+    @Override
+    protected void encodeFields(Employee employee, ByteBuffer out) {
+        if (employee instanceof FullTimeEmployee) {
+            out.put(FULL_TIME);
+        } else if (employee instanceof PartTimeEmployee) {
+            out.put(PART_TIME);
+        } else {
+            out.put(PLAIN);
+        }
+        writeVarInt(out, employee.getId());
+        writeString(out, employee.getName());
+        writeString(out, employee.getDepartment());
+        if (employee instanceof FullTimeEmployee) {
+            out.putLong(((FullTimeEmployee) employee).getMonthlySalaryCents());
+        } else if (employee instanceof PartTimeEmployee) {
+            PartTimeEmployee partTime = (PartTimeEmployee) employee;
+            out.putLong(partTime.getHourlyRateCents());
+            out.putInt(partTime.getHoursWorked());
+        }
+    }
+
+    @Override
+    protected Employee decodeFields(ByteBuffer in) throws MalformedRecordException {
+        byte kind = in.get();
+        int id = readVarInt(in);
+        String name = readString(in);
+        String department = readString(in);
+        switch (kind) {
+            case PLAIN:
+                return new Employee(id, name, department);
+            case FULL_TIME:
+                return FullTimeEmployee.ofCents(id, name, department, in.getLong());
+            case PART_TIME:
+                long hourlyRateCents = in.getLong();
+                return PartTimeEmployee.ofCents(id, name, department, hourlyRateCents, in.getInt());
+            default:
+                throw new MalformedRecordException("unknown employee kind " + kind);
+        }
+    }
+}
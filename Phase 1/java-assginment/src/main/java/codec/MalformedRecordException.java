@@ -0,0 +1,11 @@
+package codec;
+
+import java.io.IOException;
+
+public class MalformedRecordException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public MalformedRecordException(String message) {
+        super(message);
+    }
+}
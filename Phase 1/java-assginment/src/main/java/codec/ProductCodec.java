@@ -0,0 +1,46 @@
+package codec;
+
+import product.NegativePriceException;
+import product.Product;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Product record, version 1: {@code [version][varint id][string name][string category][long priceCents]}.
+ * Price listeners are process local and are not encoded.
+ */
+public class ProductCodec extends RecordCodec<Product> {
+    private static final byte VERSION = 1;
+
+    @Override
+    protected byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public int encodedSize(Product product) {
+        return 1 + varIntSize(product.getId()) + stringSize(product.getName())
+                + stringSize(product.getCategory()) + Long.BYTES;
+    }
+
+    @Override
+    protected void encodeFields(Product product, ByteBuffer out) {
+        writeVarInt(out, product.getId());
+        writeString(out, product.getName());
+        writeString(out, product.getCategory());
+        out.putLong(product.getPriceCents());
+    }
+
+    @Override
+    protected Product decodeFields(ByteBuffer in) throws MalformedRecordException {
+        int id = readVarInt(in);
+        String name = readString(in);
+        String category = readString(in);
+        long priceCents = in.getLong();
+        try {
+            return Product.ofCents(id, name, category, priceCents);
+        } catch (NegativePriceException e) {
+            throw new MalformedRecordException("negative price for product " + id);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base for the hand-rolled binary record formats.
+ *
+ * <p>Every record starts with a one byte format version followed by the fields of the concrete
+ * codec. Shared field encodings are:
+ * <ul>
+ *   <li>varint: unsigned LEB128, 7 bits per byte, low group first, at most 5 bytes for an int</li>
+ *   <li>string: varint of {@code utf8Length + 1} followed by the UTF-8 bytes; {@code 0} encodes null</li>
+ *   <li>fixed: big-endian {@code int} or {@code long} as written by {@link ByteBuffer}</li>
+ * </ul>
+ *
+ * <p>Encoding and decoding work directly on the caller's buffer. If the buffer runs out the
+ * position is restored, so the caller can flush or refill and retry the same record. A codec keeps
+ * a scratch array for decoding from direct buffers and is therefore not thread safe.
+ */
+public abstract class RecordCodec<T> {
+    private byte[] scratch = new byte[64];
+
+    protected abstract byte version();
+
+    /** Exact number of bytes {@link #encode} writes for the record. */
+    public abstract int encodedSize(T record);
+
+    protected abstract void encodeFields(T record, ByteBuffer out);
+
+    protected abstract T decodeFields(ByteBuffer in) throws MalformedRecordException;
+
+    public final void encode(T record, ByteBuffer out) {
+        int start = out.position();
+        try {
+            out.put(version());
+            encodeFields(record, out);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    public final T decode(ByteBuffer in) throws MalformedRecordException {
+        int start = in.position();
+        try {
+            byte version = in.get();
+            if (version != version()) {
+                throw new MalformedRecordException("unsupported record version " + version + " at " + start);
+            }
+            return decodeFields(in);
+        } catch (BufferUnderflowException e) {
+            in.position(start);
+            throw new MalformedRecordException("record truncated at " + start);
+        } catch (MalformedRecordException e) {
+            in.position(start);
+            throw e;
+        }
+    }
+
+    protected static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    protected static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    protected static int readVarInt(ByteBuffer in) throws MalformedRecordException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            if (shift == 28 && (b & 0x70) != 0) {
+                throw new MalformedRecordException("varint does not fit an int");
+            }
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new MalformedRecordException("varint longer than 5 bytes");
+    }
+
+    protected static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varIntSize(length + 1) + length;
+    }
+
+    protected static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        writeVarInt(out, utf8Length(value) + 1);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced the same way String.getBytes does
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    protected final String readString(ByteBuffer in) throws MalformedRecordException {
+        int prefix = readVarInt(in);
+        if (prefix == 0) {
+            return null;
+        }
+        int length = prefix - 1;
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (in.hasArray()) {
+            int offset = in.arrayOffset() + in.position();
+            in.position(in.position() + length);
+            return new String(in.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+}
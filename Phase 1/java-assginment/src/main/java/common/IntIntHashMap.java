@@ -0,0 +1,195 @@
+package common;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing {@code int -> int} map with linear probing and no boxing.
+ *
+ * <p>Key {@code 0} marks an empty slot, so a real zero key is kept in a separate field. Removal
+ * shifts later entries of the probe run back instead of leaving tombstones, which keeps lookups
+ * short under heavy churn. The table doubles once it is half full.
+ */
+public class IntIntHashMap {
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int stored = keys[slot];
+            if (stored == key) {
+                return values[slot];
+            }
+            if (stored == 0) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int stored = keys[slot];
+            if (stored == key) {
+                return true;
+            }
+            if (stored == 0) {
+                return false;
+            }
+        }
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == 0) {
+            insertAt(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /** Inserts the mapping only if the key is absent and returns whether it did. */
+    public boolean putIfAbsent(int key, int value) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            size++;
+            return true;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != 0) {
+            return false;
+        }
+        insertAt(slot, key, value);
+        return true;
+    }
+
+    /** Adds {@code delta} to the value for the key, starting from zero if absent, and returns the new value. */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = 0;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == 0) {
+            insertAt(slot, key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == 0) {
+            return false;
+        }
+        // backward shift: pull later entries of the run into the hole unless they already sit at or after their home
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insertAt(int slot, int key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = findSlot(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
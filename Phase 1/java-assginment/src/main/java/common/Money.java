@@ -0,0 +1,60 @@
+package common;
+
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100;
+
+    private static final double MAX_UNITS = (double) (Long.MAX_VALUE / CENTS_PER_UNIT);
+
+    private Money() {
+    }
+
+    public static long fromDouble(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_UNITS) {
+            throw new ArithmeticException("amount out of range " + amount);
+        }
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, CENTS_PER_UNIT);
+    }
+
+    public static double toDouble(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long multiply(long cents, long factor) {
+        return Math.multiplyExact(cents, factor);
+    }
+
+    public static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(24);
+        appendTo(sb, cents);
+        return sb.toString();
+    }
+
+    public static void appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long units = Math.abs(cents / CENTS_PER_UNIT);
+        int fraction = (int) Math.abs(cents % CENTS_PER_UNIT);
+        sb.append(units).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+}
@@ -0,0 +1,320 @@
+package common;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Renders {@link Reportable} records into one shared builder and writes them in large batches
+ * from a background thread.
+ *
+ * <p>Once the builder holds a batch worth of text it is encoded into one of a fixed pool of
+ * buffers and queued for the writer thread. When every buffer is queued or being written, callers
+ * block until one comes back, so a slow destination pushes back on producers instead of growing
+ * memory. Text that never fills a batch is written after the flush interval. A write failure is
+ * rethrown from the next call, the same way the transaction journal reports it.
+ */
+public class ReportWriter implements Closeable {
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final int batchChars;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> pending;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder text;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final Thread writer;
+
+    private final Object progress = new Object();
+    private long queuedBatches;
+    private long writtenBatches;
+    private long records;
+    private boolean closed;
+    private volatile IOException failure;
+
+    public ReportWriter(WritableByteChannel channel, boolean closeChannel, int batchBytes,
+                        int maxPendingBatches, long flushIntervalMillis) {
+        if (batchBytes < 64 || maxPendingBatches < 1 || flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("batch of at least 64 bytes, one pending batch and a positive interval needed");
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.batchChars = batchBytes;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.free = new ArrayBlockingQueue<>(maxPendingBatches);
+        this.pending = new ArrayBlockingQueue<>(maxPendingBatches + 1);
+        for (int i = 0; i < maxPendingBatches; i++) {
+            free.add(ByteBuffer.allocateDirect(batchBytes));
+        }
+        this.text = new StringBuilder(batchBytes + 1024);
+        this.writer = new Thread(this::writeLoop, "report-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Writes to standard output through its file descriptor, bypassing {@code System.out}. */
+    public static ReportWriter toStandardOut() {
+        return new ReportWriter(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), false,
+                1 << 16, 8, 100);
+    }
+
+    public static ReportWriter toFile(Path path) throws IOException {
+        return toFile(path, 1 << 20, 4, 1_000);
+    }
+
+    public static ReportWriter toFile(Path path, int batchBytes, int maxPendingBatches, long flushIntervalMillis)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new ReportWriter(channel, true, batchBytes, maxPendingBatches, flushIntervalMillis);
+    }
+
+    public void write(Reportable record) {
+        lock.lock();
+        try {
+            checkOpen();
+            record.appendDetails(text);
+            records++;
+            if (text.length() >= batchChars) {
+                queueText(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(CharSequence line) {
+        lock.lock();
+        try {
+            checkOpen();
+            text.append(line).append('\n');
+            if (text.length() >= batchChars) {
+                queueText(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordsWritten() {
+        lock.lock();
+        try {
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Queues whatever text is buffered and waits until the writer thread has written all of it. */
+    public void flush() {
+        long target;
+        lock.lock();
+        try {
+            checkOpen();
+            queueText(true);
+            synchronized (progress) {
+                target = queuedBatches;
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitWritten(target);
+        checkFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            queueText(true);
+            closed = true;
+            putUninterruptibly(pending, END);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closeChannel) {
+            channel.close();
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // callers hold the lock; blocking for a free buffer here is the backpressure
+    private void queueText(boolean block) {
+        if (text.length() == 0) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(text);
+        ByteBuffer buffer = null;
+        try {
+            while (chars.hasRemaining()) {
+                if (buffer == null) {
+                    buffer = block ? takeUninterruptibly(free) : free.poll();
+                    if (buffer == null) {
+                        // only the writer thread asks without blocking; keep the unencoded rest for its next tick
+                        text.delete(0, chars.position());
+                        return;
+                    }
+                }
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isOverflow()) {
+                    queue(buffer);
+                    buffer = null;
+                }
+            }
+            if (buffer != null) {
+                queue(buffer);
+            }
+        } finally {
+            encoder.reset();
+        }
+        text.setLength(0);
+        if (text.capacity() > batchChars * 4) {
+            text.trimToSize();
+        }
+    }
+
+    private void queue(ByteBuffer buffer) {
+        buffer.flip();
+        synchronized (progress) {
+            queuedBatches++;
+        }
+        putUninterruptibly(pending, buffer);
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = pending.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (buffer == END) {
+                return;
+            }
+            if (buffer == null) {
+                // a producer holding the lock is about to queue its text anyway
+                if (lock.tryLock()) {
+                    try {
+                        if (!closed) {
+                            queueText(false);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                continue;
+            }
+            try {
+                if (failure == null) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            buffer.clear();
+            free.add(buffer);
+            synchronized (progress) {
+                writtenBatches++;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void awaitWritten(long target) {
+        boolean interrupted = false;
+        synchronized (progress) {
+            while (writtenBatches < target) {
+                try {
+                    progress.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("report writer is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        IOException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("report write failed", error);
+        }
+    }
+
+    private static ByteBuffer takeUninterruptibly(BlockingQueue<ByteBuffer> queue) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<ByteBuffer> queue, ByteBuffer buffer) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    queue.put(buffer);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
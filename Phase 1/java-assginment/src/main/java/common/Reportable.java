@@ -0,0 +1,16 @@
+package common;
+
+/**
+ * A record that can render its details into a caller's builder, so many records can be
+ * formatted into one buffer and written in a single call.
+ */
+public interface Reportable {
+
+    void appendDetails(StringBuilder out);
+
+    default void displayDetails() {
+        StringBuilder out = new StringBuilder(128);
+        appendDetails(out);
+        System.out.print(out);
+    }
+}
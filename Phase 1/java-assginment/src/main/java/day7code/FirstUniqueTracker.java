@@ -0,0 +1,114 @@
+package day7code;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Tracks the first code point that has occurred exactly once in a stream of text.
+ *
+ * <p>A byte per code point records whether it is unseen, seen once or repeated, and a queue holds
+ * code points in the order they were first seen. Each code point enters the queue at most once and
+ * the head only moves forward past repeated entries, so {@link #accept(int)} is amortized O(1) and
+ * {@link #firstUnique()} is a plain read. Chars are decoded into code points across calls, so a
+ * surrogate pair split between two chunks is still counted once.
+ */
+public class FirstUniqueTracker {
+    public static final int NONE = -1;
+
+    private static final byte UNSEEN = 0;
+    private static final byte ONCE = 1;
+    private static final byte REPEATED = 2;
+
+    private final byte[] state = new byte[Character.MAX_CODE_POINT + 1];
+    private int[] order = new int[256];
+    private int head;
+    private int tail;
+    private long count;
+    private char pendingHigh;
+    private char[] readBuffer;
+
+    public void accept(int codePoint) {
+        count++;
+        byte seen = state[codePoint];
+        if (seen == UNSEEN) {
+            state[codePoint] = ONCE;
+            if (tail == order.length) {
+                order = Arrays.copyOf(order, tail * 2);
+            }
+            order[tail++] = codePoint;
+        } else if (seen == ONCE) {
+            state[codePoint] = REPEATED;
+            while (head < tail && state[order[head]] == REPEATED) {
+                head++;
+            }
+        }
+    }
+
+    public void accept(CharSequence text) {
+        accept(text, 0, text.length());
+    }
+
+    public void accept(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            acceptChar(text.charAt(i));
+        }
+    }
+
+    public void accept(char[] chars, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            acceptChar(chars[i]);
+        }
+    }
+
+    /** Reads the reader to the end through one reusable buffer and returns the number of chars read. */
+    public long consume(Reader reader) throws IOException {
+        if (readBuffer == null) {
+            readBuffer = new char[1 << 16];
+        }
+        long total = 0;
+        int read;
+        while ((read = reader.read(readBuffer)) >= 0) {
+            accept(readBuffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private void acceptChar(char c) {
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+            if (Character.isLowSurrogate(c)) {
+                accept(Character.toCodePoint(high, c));
+                return;
+            }
+            accept(high);
+        }
+        if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+        } else {
+            accept((int) c);
+        }
+    }
+
+    /** First code point seen exactly once so far, or {@link #NONE}. A trailing high surrogate is not counted yet. */
+    public int firstUnique() {
+        return head < tail ? order[head] : NONE;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void reset() {
+        // every code point seen is in the queue, so this is cheaper than clearing the whole table
+        for (int i = 0; i < tail; i++) {
+            state[order[i]] = UNSEEN;
+        }
+        head = 0;
+        tail = 0;
+        count = 0;
+        pendingHigh = 0;
+    }
+}
@@ -0,0 +1,149 @@
+package day7code;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Merges ascending runs into one ascending stream through a {@link LoserTree}. Each value is
+ * passed to the sink as soon as it wins, so the merged output is never held in memory.
+ */
+public final class KWayMerge {
+    private static final long WINDOW_BYTES = 64L << 20;
+
+    private KWayMerge() {
+    }
+
+    public static void merge(int[][] runs, IntConsumer sink) {
+        int k = runs.length;
+        long[] keys = new long[k];
+        boolean[] exhausted = new boolean[k];
+        int[] positions = new int[k];
+        for (int r = 0; r < k; r++) {
+            exhausted[r] = runs[r].length == 0;
+            if (!exhausted[r]) {
+                keys[r] = runs[r][0];
+            }
+        }
+        LoserTree tree = new LoserTree(keys, exhausted);
+        while (!tree.isEmpty()) {
+            int r = tree.winner();
+            sink.accept((int) tree.winnerKey());
+            int next = ++positions[r];
+            if (next < runs[r].length) {
+                tree.replaceWinner(runs[r][next]);
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+    }
+
+    public static void merge(long[][] runs, LongConsumer sink) {
+        int[] from = new int[runs.length];
+        int[] to = new int[runs.length];
+        for (int r = 0; r < runs.length; r++) {
+            to[r] = runs[r].length;
+        }
+        merge(runs, from, to, sink);
+    }
+
+    /** Merges {@code runs[r][from[r]..to[r])} for every run; {@code from} is used as the cursor. */
+    static void merge(long[][] runs, int[] from, int[] to, LongConsumer sink) {
+        int k = runs.length;
+        long[] keys = new long[k];
+        boolean[] exhausted = new boolean[k];
+        for (int r = 0; r < k; r++) {
+            exhausted[r] = from[r] >= to[r];
+            if (!exhausted[r]) {
+                keys[r] = runs[r][from[r]];
+            }
+        }
+        LoserTree tree = new LoserTree(keys, exhausted);
+        while (!tree.isEmpty()) {
+            int r = tree.winner();
+            sink.accept(tree.winnerKey());
+            int next = ++from[r];
+            if (next < to[r]) {
+                tree.replaceWinner(runs[r][next]);
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+    }
+
+    /**
+     * Merges files of ascending big-endian longs. Each file is mapped a window at a time, so only
+     * {@code k} windows are mapped at once however large the runs are.
+     */
+    public static void mergeFiles(List<Path> runs, LongConsumer sink) throws IOException {
+        int k = runs.size();
+        MappedRun[] cursors = new MappedRun[k];
+        try {
+            long[] keys = new long[k];
+            boolean[] exhausted = new boolean[k];
+            for (int r = 0; r < k; r++) {
+                cursors[r] = new MappedRun(runs.get(r));
+                exhausted[r] = !cursors[r].hasNext();
+                if (!exhausted[r]) {
+                    keys[r] = cursors[r].next();
+                }
+            }
+            LoserTree tree = new LoserTree(keys, exhausted);
+            while (!tree.isEmpty()) {
+                MappedRun cursor = cursors[tree.winner()];
+                sink.accept(tree.winnerKey());
+                if (cursor.hasNext()) {
+                    tree.replaceWinner(cursor.next());
+                } else {
+                    tree.exhaustWinner();
+                }
+            }
+        } finally {
+            for (MappedRun cursor : cursors) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+    }
+
+    private static final class MappedRun {
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private LongBuffer window = LongBuffer.allocate(0);
+
+        MappedRun(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = channel.size() & ~7L;
+        }
+
+        boolean hasNext() throws IOException {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            windowStart += (long) window.capacity() * Long.BYTES;
+            if (windowStart >= size) {
+                return false;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(WINDOW_BYTES, size - windowStart));
+            window = mapped.asLongBuffer();
+            return true;
+        }
+
+        long next() {
+            return window.get();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package day7code;
+
+/**
+ * Tournament tree over the current head of each run. Internal nodes keep the loser of each match,
+ * so replacing the winner's key replays only the path from its leaf to the root, about log2(k)
+ * comparisons. An exhausted run loses every match, and equal keys go to the lower run index.
+ */
+final class LoserTree {
+    private final int k;
+    private final int[] losers;
+    private final long[] keys;
+    private final boolean[] exhausted;
+    private int winner;
+
+    LoserTree(long[] keys, boolean[] exhausted) {
+        this.k = keys.length;
+        this.keys = keys;
+        this.exhausted = exhausted;
+        this.losers = new int[Math.max(1, k)];
+        winner = k == 0 ? -1 : build(1);
+    }
+
+    private int build(int node) {
+        if (node >= k) {
+            return node - k;
+        }
+        int left = build(node * 2);
+        int right = build(node * 2 + 1);
+        if (beats(left, right)) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+        return right;
+    }
+
+    boolean isEmpty() {
+        return winner < 0 || exhausted[winner];
+    }
+
+    int winner() {
+        return winner;
+    }
+
+    long winnerKey() {
+        return keys[winner];
+    }
+
+    void replaceWinner(long key) {
+        keys[winner] = key;
+        replay();
+    }
+
+    void exhaustWinner() {
+        exhausted[winner] = true;
+        replay();
+    }
+
+    private void replay() {
+        int current = winner;
+        for (int node = (current + k) >>> 1; node > 0; node >>>= 1) {
+            int loser = losers[node];
+            if (beats(loser, current)) {
+                losers[node] = current;
+                current = loser;
+            }
+        }
+        winner = current;
+    }
+
+    private boolean beats(int a, int b) {
+        if (exhausted[a] != exhausted[b]) {
+            return exhausted[b];
+        }
+        if (!exhausted[a] && keys[a] != keys[b]) {
+            return keys[a] < keys[b];
+        }
+        return a < b;
+    }
+}
@@ -0,0 +1,122 @@
+package day7code;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for any number of producer and consumer threads.
+ *
+ * <p>Every slot carries a sequence number. A slot at position {@code p} is free for the producer
+ * claiming {@code p} when its sequence is {@code p}, and holds an element for the consumer claiming
+ * {@code p} when its sequence is {@code p + 1}. Producers and consumers claim positions with a CAS
+ * on the padded tail or head, then hand the slot over by storing the next sequence with release
+ * semantics. {@link #drain} checks a run of filled slots and claims them all with one CAS.
+ */
+public class MpmcRingBuffer<E> extends RingBuffer<E> {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMENTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final int TAIL = PAD;
+    private static final int HEAD = PAD * 2;
+
+    private final Object[] elements;
+    private final long[] sequences;
+    private final long[] counters = new long[PAD * 3];
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.elements = new Object[this.capacity];
+        this.sequences = new long[this.capacity];
+        for (int i = 0; i < this.capacity; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    @Override
+    public boolean offer(E element) {
+        checkNotNull(element);
+        long tail = (long) LONGS.getVolatile(counters, TAIL);
+        while (true) {
+            int index = (int) tail & mask;
+            long sequence = (long) LONGS.getAcquire(sequences, index);
+            long difference = sequence - tail;
+            if (difference == 0) {
+                long witness = (long) LONGS.compareAndExchange(counters, TAIL, tail, tail + 1);
+                if (witness == tail) {
+                    ELEMENTS.set(elements, index, element);
+                    LONGS.setRelease(sequences, index, tail + 1);
+                    return true;
+                }
+                tail = witness;
+            } else if (difference < 0) {
+                return false;
+            } else {
+                tail = (long) LONGS.getVolatile(counters, TAIL);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long head = (long) LONGS.getVolatile(counters, HEAD);
+        while (true) {
+            int index = (int) head & mask;
+            long sequence = (long) LONGS.getAcquire(sequences, index);
+            long difference = sequence - (head + 1);
+            if (difference == 0) {
+                long witness = (long) LONGS.compareAndExchange(counters, HEAD, head, head + 1);
+                if (witness == head) {
+                    E element = (E) ELEMENTS.get(elements, index);
+                    ELEMENTS.set(elements, index, null);
+                    LONGS.setRelease(sequences, index, head + capacity);
+                    return element;
+                }
+                head = witness;
+            } else if (difference < 0) {
+                return null;
+            } else {
+                head = (long) LONGS.getVolatile(counters, HEAD);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        while (true) {
+            long head = (long) LONGS.getVolatile(counters, HEAD);
+            int ready = 0;
+            while (ready < limit) {
+                long position = head + ready;
+                if ((long) LONGS.getAcquire(sequences, (int) position & mask) != position + 1) {
+                    break;
+                }
+                ready++;
+            }
+            if (ready == 0) {
+                return 0;
+            }
+            if ((long) LONGS.compareAndExchange(counters, HEAD, head, head + ready) != head) {
+                continue;
+            }
+            for (int i = 0; i < ready; i++) {
+                long position = head + i;
+                int index = (int) position & mask;
+                E element = (E) ELEMENTS.get(elements, index);
+                ELEMENTS.set(elements, index, null);
+                LONGS.setRelease(sequences, index, position + capacity);
+                consumer.accept(element);
+            }
+            return ready;
+        }
+    }
+
+    @Override
+    public int size() {
+        long head = (long) LONGS.getVolatile(counters, HEAD);
+        long tail = (long) LONGS.getVolatile(counters, TAIL);
+        return (int) Math.max(0, Math.min(capacity, tail - head));
+    }
+}
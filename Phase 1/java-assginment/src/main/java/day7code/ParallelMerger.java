@@ -0,0 +1,137 @@
+package day7code;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+
+/**
+ * Parallel k-way merge that splits the key range rather than the runs. Splitter keys are taken
+ * from an evenly spaced sample of every run; each partition then binary searches its bounds in
+ * every run and merges its slices independently, so partition {@code p} emits only keys below
+ * those of partition {@code p + 1}.
+ */
+public class ParallelMerger implements AutoCloseable {
+    private static final int SAMPLES_PER_RUN = 64;
+
+    private final ForkJoinPool pool;
+    private final int partitions;
+
+    public ParallelMerger() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelMerger(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.partitions = parallelism * 4;
+    }
+
+    /** Merges into {@code out}, which must hold exactly the total length of the runs. */
+    public void merge(long[][] runs, long[] out) {
+        long total = 0;
+        for (long[] run : runs) {
+            total += run.length;
+        }
+        if (total != out.length) {
+            throw new IllegalArgumentException("output length " + out.length + " does not match " + total + " keys");
+        }
+        int[][] bounds = partitionBounds(runs);
+        int[] offsets = new int[bounds.length];
+        for (int p = 1; p < bounds.length; p++) {
+            offsets[p] = offsets[p - 1];
+            for (int r = 0; r < runs.length; r++) {
+                offsets[p] += bounds[p][r] - bounds[p - 1][r];
+            }
+        }
+        merge(runs, bounds, p -> {
+            int[] position = {offsets[p]};
+            return key -> out[position[0]++] = key;
+        });
+    }
+
+    /**
+     * Merges with one sink per partition. Partitions are key ordered, so draining the sinks in
+     * index order gives the fully merged sequence. Returns the number of partitions used.
+     */
+    public int merge(long[][] runs, IntFunction<LongConsumer> partitionSinks) {
+        int[][] bounds = partitionBounds(runs);
+        merge(runs, bounds, partitionSinks);
+        return bounds.length - 1;
+    }
+
+    private void merge(long[][] runs, int[][] bounds, IntFunction<LongConsumer> partitionSinks) {
+        pool.invoke(new PartitionTask(runs, bounds, partitionSinks, 0, bounds.length - 1));
+    }
+
+    // bounds[p][r] is the first index of run r that belongs to partition p or later
+    private int[][] partitionBounds(long[][] runs) {
+        long[] samples = new long[runs.length * SAMPLES_PER_RUN];
+        int sampleCount = 0;
+        for (long[] run : runs) {
+            for (int s = 0; s < SAMPLES_PER_RUN && run.length > 0; s++) {
+                samples[sampleCount++] = run[(int) ((long) run.length * s / SAMPLES_PER_RUN)];
+            }
+        }
+        Arrays.sort(samples, 0, sampleCount);
+        int count = Math.max(1, Math.min(partitions, sampleCount));
+
+        int[][] bounds = new int[count + 1][runs.length];
+        for (int r = 0; r < runs.length; r++) {
+            bounds[count][r] = runs[r].length;
+        }
+        for (int p = 1; p < count; p++) {
+            long splitter = samples[(int) ((long) sampleCount * p / count)];
+            for (int r = 0; r < runs.length; r++) {
+                bounds[p][r] = Math.max(bounds[p - 1][r], lowerBound(runs[r], splitter));
+            }
+        }
+        return bounds;
+    }
+
+    private static int lowerBound(long[] run, long key) {
+        int low = 0;
+        int high = run.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (run[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static class PartitionTask extends RecursiveAction {
+        private final long[][] runs;
+        private final int[][] bounds;
+        private final IntFunction<LongConsumer> partitionSinks;
+        private final int from;
+        private final int to;
+
+        PartitionTask(long[][] runs, int[][] bounds, IntFunction<LongConsumer> partitionSinks, int from, int to) {
+            this.runs = runs;
+            this.bounds = bounds;
+            this.partitionSinks = partitionSinks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                KWayMerge.merge(runs, bounds[from].clone(), bounds[from + 1], partitionSinks.apply(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PartitionTask(runs, bounds, partitionSinks, from, mid),
+                    new PartitionTask(runs, bounds, partitionSinks, mid, to));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package day7code;
+
+import java.util.function.Consumer;
+
+/**
+ * Bounded array-backed queue with a power of two capacity. The non-blocking operations never
+ * wait; {@link #put}, {@link #take} and {@link #drainAtLeastOne} retry through the buffer's
+ * {@link WaitStrategy}. Null elements are not allowed.
+ */
+public abstract class RingBuffer<E> {
+    // 128 bytes between hot counters so adjacent line prefetch does not pull them together
+    static final int PAD = 16;
+
+    protected final int capacity;
+    protected final int mask;
+    protected final WaitStrategy waitStrategy;
+
+    protected RingBuffer(int requestedCapacity, WaitStrategy waitStrategy) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public abstract boolean offer(E element);
+
+    public abstract E poll();
+
+    /** Hands up to {@code limit} elements to the consumer and returns how many it got. */
+    public abstract int drain(Consumer<? super E> consumer, int limit);
+
+    public abstract int size();
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void put(E element) throws InterruptedException {
+        for (int attempt = 0; !offer(element); attempt++) {
+            waitStrategy.idle(attempt);
+        }
+    }
+
+    public E take() throws InterruptedException {
+        E element;
+        for (int attempt = 0; (element = poll()) == null; attempt++) {
+            waitStrategy.idle(attempt);
+        }
+        return element;
+    }
+
+    /** Waits until at least one element is available, then drains up to {@code limit}. */
+    public int drainAtLeastOne(Consumer<? super E> consumer, int limit) throws InterruptedException {
+        int drained;
+        for (int attempt = 0; (drained = drain(consumer, limit)) == 0; attempt++) {
+            waitStrategy.idle(attempt);
+        }
+        return drained;
+    }
+
+    protected static void checkNotNull(Object element) {
+        if (element == null) {
+            throw new NullPointerException("ring buffer elements cannot be null");
+        }
+    }
+}
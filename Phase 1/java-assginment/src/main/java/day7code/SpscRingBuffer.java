@@ -0,0 +1,93 @@
+package day7code;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for exactly one producer thread and one consumer thread.
+ *
+ * <p>The producer owns the tail and the consumer owns the head, so neither needs a CAS: each
+ * publishes its counter with a release store and reads the other's with an acquire load. Each side
+ * also caches the last value it read of the other's counter and only rereads it when the cache says
+ * the buffer is full or empty. The four counters live in one padded {@code long[]}, grouped as
+ * producer line {@code [tail, cachedHead]} and consumer line {@code [head, cachedTail]}.
+ */
+public class SpscRingBuffer<E> extends RingBuffer<E> {
+    private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int TAIL = PAD;
+    private static final int CACHED_HEAD = PAD + 1;
+    private static final int HEAD = PAD * 2;
+    private static final int CACHED_TAIL = PAD * 2 + 1;
+
+    private final Object[] elements;
+    private final long[] counters = new long[PAD * 3];
+
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.elements = new Object[this.capacity];
+    }
+
+    @Override
+    public boolean offer(E element) {
+        checkNotNull(element);
+        long tail = counters[TAIL];
+        if (tail - counters[CACHED_HEAD] >= capacity) {
+            counters[CACHED_HEAD] = (long) COUNTERS.getAcquire(counters, HEAD);
+            if (tail - counters[CACHED_HEAD] >= capacity) {
+                return false;
+            }
+        }
+        elements[(int) tail & mask] = element;
+        COUNTERS.setRelease(counters, TAIL, tail + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long head = counters[HEAD];
+        if (head >= counters[CACHED_TAIL]) {
+            counters[CACHED_TAIL] = (long) COUNTERS.getAcquire(counters, TAIL);
+            if (head >= counters[CACHED_TAIL]) {
+                return null;
+            }
+        }
+        int index = (int) head & mask;
+        E element = (E) elements[index];
+        elements[index] = null;
+        COUNTERS.setRelease(counters, HEAD, head + 1);
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long head = counters[HEAD];
+        long available = counters[CACHED_TAIL] - head;
+        if (available < limit) {
+            counters[CACHED_TAIL] = (long) COUNTERS.getAcquire(counters, TAIL);
+            available = counters[CACHED_TAIL] - head;
+        }
+        int count = (int) Math.min(available, limit);
+        for (int i = 0; i < count; i++) {
+            int index = (int) (head + i) & mask;
+            E element = (E) elements[index];
+            elements[index] = null;
+            consumer.accept(element);
+        }
+        // one release store frees the whole batch for the producer
+        if (count > 0) {
+            COUNTERS.setRelease(counters, HEAD, head + count);
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        long head = (long) COUNTERS.getAcquire(counters, HEAD);
+        long tail = (long) COUNTERS.getAcquire(counters, TAIL);
+        return (int) Math.max(0, Math.min(capacity, tail - head));
+    }
+}
@@ -9,44 +9,56 @@ public class StringArrayProblems {
         System.out.println("Enter a string");
         String str = sc.next();
 
+        char ans = firstNonRepeatingChar(str);
+
+        if(ans == '\0'){
+            System.out.println("No repeating character");
+        }
+        else{
+            System.out.println(ans);
+        }
+    }
+
+    public static char firstNonRepeatingChar(String str) {
         Map<Character, Integer> charCount = new HashMap<>();
         for(char c: str.toCharArray()){
             charCount.put(c, charCount.getOrDefault(c,0)+1);
         }
-        char ans = '\0';
         for(char c: str.toCharArray()){
             if(charCount.get(c) == 1){
-                ans = c;
-                break;
+                return c;
             }
         }
-
-        if(ans == '\0'){
-            System.out.println("No repeating character");
-        }
-        else{
-            System.out.println(ans);
-        }
+        return '\0';
     }
 
     public static void twoSum() {
         int[] nums = {2, 7, 11, 15};
         int target = 9;
 
+        int[] indices = twoSum(nums, target);
+        if (indices != null) {
+            System.out.println("indices found " + indices[0] + " and " + indices[1]);
+            return;
+        }
+
+        System.out.println("no two indices found");
+    }
+
+    public static int[] twoSum(int[] nums, int target) {
         Map<Integer, Integer> map = new HashMap<>();
 
         for (int i = 0; i < nums.length; i++) {
             int complement = target - nums[i];
 
             if (map.containsKey(complement)) {
-                System.out.println("indices found " + map.get(complement) + " and " + i);
-                return;
+                return new int[]{map.get(complement), i};
             }
 
             map.put(nums[i], i);
         }
 
-        System.out.println("no two indices found");
+        return null;
     }
 
     public static void mergeSortedLists() {
@@ -58,6 +70,11 @@ public class StringArrayProblems {
         System.out.println(list1);
         System.out.println(list2);
 
+        List<Integer> newList = mergeSortedLists(list1, list2);
+        System.out.println(newList);
+    }
+
+    public static List<Integer> mergeSortedLists(List<Integer> list1, List<Integer> list2) {
         List<Integer> newList = new ArrayList<>();
 
         int i=0,j=0;
@@ -73,6 +90,6 @@ public class StringArrayProblems {
 
         while(i<list1.size()) newList.add(list1.get(i++));
         while(j<list2.size()) newList.add(list2.get(j++));
-        System.out.println(newList);
+        return newList;
     }
 }
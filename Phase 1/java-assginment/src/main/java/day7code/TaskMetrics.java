@@ -0,0 +1,111 @@
+package day7code;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for a {@link TaskRunner}. Latencies go into power of two
+ * nanosecond buckets, so percentiles are upper bounds within a factor of two.
+ */
+public class TaskMetrics {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder cancelledQueued = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLongArray queueBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray totalBuckets = new AtomicLongArray(BUCKETS);
+
+    void recordSubmitted() {
+        submitted.increment();
+    }
+
+    void recordStarted(long waitedNanos) {
+        started.increment();
+        queueNanos.add(waitedNanos);
+        queueBuckets.incrementAndGet(bucket(waitedNanos));
+    }
+
+    void recordFinished(long waitedNanos, long ranNanos, boolean success) {
+        runNanos.add(ranNanos);
+        totalBuckets.incrementAndGet(bucket(waitedNanos + ranNanos));
+        if (success) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    void recordCancelled(boolean started) {
+        cancelled.increment();
+        if (!started) {
+            cancelledQueued.increment();
+        }
+    }
+
+    private static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos) - 1;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Tasks cancelled, whether still queued or already running. */
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /** Tasks submitted but not yet started or cancelled. */
+    public long getQueueDepth() {
+        return Math.max(0, submitted.sum() - started.sum() - cancelledQueued.sum());
+    }
+
+    public long getMeanQueueNanos() {
+        long count = started.sum();
+        return count == 0 ? 0 : queueNanos.sum() / count;
+    }
+
+    public long getMeanRunNanos() {
+        long count = completed.sum() + failed.sum();
+        return count == 0 ? 0 : runNanos.sum() / count;
+    }
+
+    public long queueLatencyPercentile(double fraction) {
+        return percentile(queueBuckets, fraction);
+    }
+
+    /** Submit to finish latency at the given fraction, for example {@code 0.99}. */
+    public long latencyPercentile(double fraction) {
+        return percentile(totalBuckets, fraction);
+    }
+
+    private static long percentile(AtomicLongArray buckets, double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target && seen > 0) {
+                return i == 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return 0;
+    }
+}
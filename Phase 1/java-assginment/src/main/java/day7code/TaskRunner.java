@@ -0,0 +1,244 @@
+package day7code;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed platform pool, a work-stealing pool or one virtual thread per task,
+ * chosen by {@link Mode}. Every task is tracked until it finishes so {@link #cancelAll} and
+ * {@link #close} can cancel what is still queued or running. The virtual mode needs a Java 21
+ * runtime and fails with {@link UnsupportedOperationException} on older ones.
+ */
+public class TaskRunner implements AutoCloseable {
+    public static final String MODE_PROPERTY = "taskrunner.mode";
+    public static final String PARALLELISM_PROPERTY = "taskrunner.parallelism";
+
+    private static final Duration DEFAULT_GRACE = Duration.ofSeconds(10);
+
+    private static final int QUEUED = 0;
+    private static final int STARTED = 1;
+    private static final int CANCELLED_QUEUED = 2;
+    private static final VarHandle PHASE;
+
+    static {
+        try {
+            PHASE = MethodHandles.lookup().findVarHandle(TrackedTask.class, "phase", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public enum Mode {
+        FIXED,
+        FORK_JOIN,
+        VIRTUAL
+    }
+
+    private final Mode mode;
+    private final ExecutorService executor;
+    private final TaskMetrics metrics = new TaskMetrics();
+    private final Set<TrackedTask<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+    public TaskRunner(Mode mode, int parallelism) {
+        this.mode = mode;
+        switch (mode) {
+            case FIXED:
+                executor = Executors.newFixedThreadPool(parallelism);
+                break;
+            case FORK_JOIN:
+                executor = new ForkJoinPool(parallelism);
+                break;
+            default:
+                executor = newVirtualThreadExecutor();
+        }
+    }
+
+    /** Reads {@value #MODE_PROPERTY} and {@value #PARALLELISM_PROPERTY}, defaulting to a fixed pool per core. */
+    public static TaskRunner configured() {
+        Mode mode = Mode.valueOf(System.getProperty(MODE_PROPERTY, Mode.FIXED.name()).toUpperCase());
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+        return new TaskRunner(mode, parallelism);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // looked up reflectively so the tree still compiles and runs on Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("virtual threads need Java 21 or later, running on "
+                    + Runtime.version());
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("could not create virtual thread executor", e);
+        }
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public TaskMetrics metrics() {
+        return metrics;
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return submit(task, null);
+    }
+
+    private <T> Future<T> submit(Callable<T> task, BlockingQueue<Future<?>> completions) {
+        TrackedTask<T> tracked = new TrackedTask<>(task, completions);
+        inFlight.add(tracked);
+        metrics.recordSubmitted();
+        try {
+            executor.execute(tracked);
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(tracked);
+            tracked.cancel(false);
+            throw e;
+        }
+        return tracked;
+    }
+
+    public Future<?> submit(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the tasks and returns their results in order. Tasks are awaited in completion order, so
+     * the first one to fail cancels the rest and its exception is rethrown without waiting for
+     * earlier tasks in the list. No task outlives the call.
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        BlockingQueue<Future<?>> completions = new LinkedBlockingQueue<>();
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(submit(task, completions));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                completions.take().get();
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /** Cancels every queued task and interrupts every running one. Returns how many were cancelled. */
+    public int cancelAll() {
+        int count = 0;
+        for (TrackedTask<?> task : inFlight) {
+            if (task.cancel(true)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Stops accepting tasks and waits up to {@code grace} for the rest before cancelling them. */
+    public boolean shutdown(Duration grace) throws InterruptedException {
+        executor.shutdown();
+        if (executor.awaitTermination(grace.toNanos(), TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        cancelAll();
+        executor.shutdownNow();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            shutdown(DEFAULT_GRACE);
+        } catch (InterruptedException e) {
+            cancelAll();
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // run and a cancel racing it both try to move the phase off QUEUED, so each task is counted exactly once
+    private final class TrackedTask<T> extends FutureTask<T> {
+        private final long submittedAt = System.nanoTime();
+        private final BlockingQueue<Future<?>> completions;
+        private long startedAt;
+        private volatile int phase;
+
+        TrackedTask(Callable<T> task, BlockingQueue<Future<?>> completions) {
+            super(task);
+            this.completions = completions;
+        }
+
+        @Override
+        public void run() {
+            startedAt = System.nanoTime();
+            if (!PHASE.compareAndSet(this, QUEUED, STARTED)) {
+                return;
+            }
+            metrics.recordStarted(startedAt - submittedAt);
+            super.run();
+        }
+
+        // metrics first, so a caller woken by the completion queue already sees this task counted
+        @Override
+        protected void done() {
+            if (PHASE.compareAndSet(this, QUEUED, CANCELLED_QUEUED)) {
+                metrics.recordCancelled(false);
+            } else if (isCancelled()) {
+                metrics.recordCancelled(true);
+            } else {
+                metrics.recordFinished(startedAt - submittedAt, System.nanoTime() - startedAt, !failed());
+            }
+            inFlight.remove(this);
+            if (completions != null) {
+                completions.add(this);
+            }
+        }
+
+        private boolean failed() {
+            try {
+                get();
+                return false;
+            } catch (ExecutionException e) {
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+    }
+}
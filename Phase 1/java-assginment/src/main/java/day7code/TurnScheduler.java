@@ -0,0 +1,179 @@
+package day7code;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands an ordered turn between a fixed set of parties, numbered from zero. A party calls
+ * {@link #awaitTurn} before its step and {@link #endTurn} after it; only the party holding the
+ * turn may end it, so the turn counter has a single writer at any time.
+ *
+ * <p>The order repeats a cycle built from per-party weights with smooth weighted round robin, so
+ * weights {@code {2, 1}} give {@code 0, 1, 0} rather than {@code 0, 0, 1}. Equal weights give plain
+ * round robin.
+ */
+public class TurnScheduler {
+
+    public enum Strategy {
+        /** One monitor, waiters woken with notifyAll on every handoff. */
+        MONITOR,
+        /** Each waiting thread parks and the party ending a turn unparks only the next one. */
+        PARK,
+        /** Busy spin, then yield, then short timed parks while the wait drags on. */
+        SPIN
+    }
+
+    private static final int SPIN_TRIES = 1_000;
+    private static final int YIELD_TRIES = 100;
+    private static final long MAX_PARK_NANOS = 100_000;
+
+    private final Strategy strategy;
+    private final int parties;
+    private final int[] cycle;
+    private final AtomicReferenceArray<Thread> waiters;
+    private volatile long turn;
+
+    private TurnScheduler(int[] weights, Strategy strategy) {
+        this.strategy = strategy;
+        this.parties = weights.length;
+        this.cycle = buildCycle(weights);
+        this.waiters = new AtomicReferenceArray<>(parties);
+    }
+
+    public static TurnScheduler roundRobin(int parties, Strategy strategy) {
+        if (parties < 1) {
+            throw new IllegalArgumentException("need at least one party");
+        }
+        int[] weights = new int[parties];
+        Arrays.fill(weights, 1);
+        return new TurnScheduler(weights, strategy);
+    }
+
+    public static TurnScheduler weighted(int[] weights, Strategy strategy) {
+        if (weights.length < 1) {
+            throw new IllegalArgumentException("need at least one party");
+        }
+        for (int weight : weights) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("weights must be positive");
+            }
+        }
+        return new TurnScheduler(weights.clone(), strategy);
+    }
+
+    private static int[] buildCycle(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total = Math.addExact(total, weight);
+        }
+        int[] order = new int[total];
+        long[] current = new long[weights.length];
+        for (int step = 0; step < total; step++) {
+            int best = 0;
+            for (int party = 0; party < weights.length; party++) {
+                current[party] += weights[party];
+                if (current[party] > current[best]) {
+                    best = party;
+                }
+            }
+            current[best] -= total;
+            order[step] = best;
+        }
+        return order;
+    }
+
+    public int parties() {
+        return parties;
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    /** Party whose turn it is now. */
+    public int currentParty() {
+        return cycle[(int) (turn % cycle.length)];
+    }
+
+    public void awaitTurn(int party) throws InterruptedException {
+        checkParty(party);
+        if (currentParty() == party) {
+            return;
+        }
+        switch (strategy) {
+            case MONITOR:
+                synchronized (this) {
+                    while (currentParty() != party) {
+                        wait();
+                    }
+                }
+                break;
+            case PARK:
+                waiters.set(party, Thread.currentThread());
+                try {
+                    // registering before the check means endTurn either sees this thread or we see its turn
+                    while (currentParty() != party) {
+                        LockSupport.park(this);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+                } finally {
+                    waiters.set(party, null);
+                }
+                break;
+            default:
+                spinUntil(party);
+        }
+    }
+
+    public void endTurn(int party) {
+        checkParty(party);
+        if (currentParty() != party) {
+            throw new IllegalStateException("party " + party + " does not hold the turn");
+        }
+        long next = turn + 1;
+        turn = next;
+        switch (strategy) {
+            case MONITOR:
+                synchronized (this) {
+                    notifyAll();
+                }
+                break;
+            case PARK:
+                Thread waiter = waiters.get(cycle[(int) (next % cycle.length)]);
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void spinUntil(int party) throws InterruptedException {
+        int tries = 0;
+        long parkNanos = 1_000;
+        while (currentParty() != party) {
+            if (tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            tries++;
+        }
+    }
+
+    private void checkParty(int party) {
+        if (party < 0 || party >= parties) {
+            throw new IllegalArgumentException("party " + party + " out of range");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package day7code;
+
+import common.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive twoSum and kSum variants. Pair results are returned flat as
+ * {@code [a0, b0, a1, b1, ...]} with {@code a <= b}, each distinct value pair once. Sums are
+ * computed in long so targets near the int range do not wrap.
+ */
+public class TwoSum {
+
+    private TwoSum() {
+    }
+
+    /** Indices of the first pair summing to target in scan order, or null. */
+    public static int[] firstPair(int[] nums, int target) {
+        IntIntHashMap seen = new IntIntHashMap(nums.length);
+        for (int i = 0; i < nums.length; i++) {
+            long complement = (long) target - nums[i];
+            if (complement == (int) complement) {
+                int j = seen.getOrDefault((int) complement, -1);
+                if (j >= 0) {
+                    return new int[]{j, i};
+                }
+            }
+            seen.putIfAbsent(nums[i], i);
+        }
+        return null;
+    }
+
+    /** Every distinct value pair summing to target, found with one pass over a count map. */
+    public static int[] allPairs(int[] nums, int target) {
+        IntIntHashMap counts = new IntIntHashMap(nums.length);
+        PairBuffer pairs = new PairBuffer();
+        for (int num : nums) {
+            int seenBefore = counts.addTo(num, 1) - 1;
+            long complement = (long) target - num;
+            if (complement != (int) complement) {
+                continue;
+            }
+            int other = (int) complement;
+            // report a pair only when its second value first completes it
+            if (other == num) {
+                if (seenBefore == 1) {
+                    pairs.add(num, num);
+                }
+            } else if (seenBefore == 0 && counts.containsKey(other)) {
+                pairs.add(Math.min(num, other), Math.max(num, other));
+            }
+        }
+        return pairs.toArray();
+    }
+
+    /** Same result as {@link #allPairs} in ascending order, from a sorted copy and two pointers. */
+    public static int[] allPairsSorted(int[] nums, int target) {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+        PairBuffer pairs = new PairBuffer();
+        twoPointer(sorted, 0, target, pairs);
+        return pairs.toArray();
+    }
+
+    /** Every distinct k-tuple of values in ascending order summing to target. */
+    public static List<int[]> kSum(int[] nums, int k, long target) {
+        if (k < 2) {
+            throw new IllegalArgumentException("k must be at least 2");
+        }
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+        List<int[]> result = new ArrayList<>();
+        kSum(sorted, 0, k, target, new int[k], 0, result);
+        return result;
+    }
+
+    private static void kSum(int[] sorted, int from, int k, long target, int[] prefix, int depth, List<int[]> result) {
+        if (k == 2) {
+            PairBuffer pairs = new PairBuffer();
+            twoPointer(sorted, from, target, pairs);
+            for (int p = 0; p < pairs.size; p += 2) {
+                int[] tuple = Arrays.copyOf(prefix, prefix.length);
+                tuple[depth] = pairs.values[p];
+                tuple[depth + 1] = pairs.values[p + 1];
+                result.add(tuple);
+            }
+            return;
+        }
+        for (int i = from; i <= sorted.length - k; i++) {
+            if (i > from && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+            // the smallest and largest reachable sums bound the rest of the loop
+            if ((long) sorted[i] * k > target) {
+                break;
+            }
+            if ((long) sorted[i] + (long) sorted[sorted.length - 1] * (k - 1) < target) {
+                continue;
+            }
+            prefix[depth] = sorted[i];
+            kSum(sorted, i + 1, k - 1, target - sorted[i], prefix, depth + 1, result);
+        }
+    }
+
+    private static void twoPointer(int[] sorted, int from, long target, PairBuffer pairs) {
+        int low = from;
+        int high = sorted.length - 1;
+        while (low < high) {
+            long sum = (long) sorted[low] + sorted[high];
+            if (sum < target) {
+                low++;
+            } else if (sum > target) {
+                high--;
+            } else {
+                pairs.add(sorted[low], sorted[high]);
+                int lowValue = sorted[low];
+                int highValue = sorted[high];
+                while (low < high && sorted[low] == lowValue) {
+                    low++;
+                }
+                while (low < high && sorted[high] == highValue) {
+                    high--;
+                }
+            }
+        }
+    }
+
+    private static final class PairBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int a, int b) {
+            if (size + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = a;
+            values[size++] = b;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package day7code;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What a ring buffer caller does while the buffer is full or empty. {@code attempt} counts the
+ * failed tries of the current wait from zero, so strategies can back off as a wait drags on.
+ */
+public interface WaitStrategy {
+
+    void idle(int attempt) throws InterruptedException;
+
+    /** Spins on the CPU; lowest latency, but only sensible with a core per waiting thread. */
+    static WaitStrategy busySpin() {
+        return attempt -> {
+            Thread.onSpinWait();
+            if ((attempt & 0xFFFF) == 0xFFFF && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        };
+    }
+
+    /** Spins briefly, then yields the core to other runnable threads. */
+    static WaitStrategy yielding() {
+        return attempt -> {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        };
+    }
+
+    /** Spins, yields, then parks for doubling intervals up to {@code maxParkNanos}. */
+    static WaitStrategy sleeping(long maxParkNanos) {
+        return attempt -> {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else if (attempt < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(maxParkNanos, 1_000L << Math.min(20, attempt - 200)));
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        };
+    }
+}
@@ -1,9 +1,17 @@
 package employee;
 
-public class Employee {
+import common.Money;
+import common.Reportable;
+
+import java.io.Serializable;
+
+public class Employee implements Serializable, Reportable {
+    private static final long serialVersionUID = 1L;
+
     protected int id;
     protected String name;
     protected String department;
+    private transient SalaryListener salaryListener;
 
     public Employee(int id, String name, String department) {
         this.id = id;
@@ -11,14 +19,49 @@ public class Employee {
         this.department = department;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    synchronized SalaryListener getSalaryListener() {
+        return salaryListener;
+    }
+
+    synchronized void setSalaryListener(SalaryListener salaryListener) {
+        this.salaryListener = salaryListener;
+    }
+
+    protected void salaryChanged(long oldSalaryCents) {
+        SalaryListener listener = salaryListener;
+        long newSalaryCents = calculateSalaryCents();
+        if (listener != null && newSalaryCents != oldSalaryCents) {
+            listener.salaryChanged(this, oldSalaryCents, newSalaryCents);
+        }
+    }
+
     public double calculateSalary() {
-        return 0.0;
+        return Money.toDouble(calculateSalaryCents());
+    }
+
+    public long calculateSalaryCents() {
+        return 0;
     }
 
-    public void displayDetails() {
-        System.out.println("\nemployee id " + id);
-        System.out.println("name " + name);
-        System.out.println("department " + department);
-        System.out.println("salary " + calculateSalary());
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\nemployee id ").append(id).append('\n');
+        out.append("name ").append(name).append('\n');
+        out.append("department ").append(department).append('\n');
+        out.append("salary ");
+        Money.appendTo(out, calculateSalaryCents());
+        out.append('\n');
     }
 }
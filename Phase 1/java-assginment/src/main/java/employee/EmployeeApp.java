@@ -1,5 +1,7 @@
 package employee;
 
+import common.Money;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,10 +30,14 @@ public class EmployeeApp {
         }
 
         System.out.println("\n\ntotal salary expense");
-        double totalSalary = 0;
+        long totalSalaryCents = 0;
         for (Employee emp : employees) {
-            totalSalary += emp.calculateSalary();
+            totalSalaryCents = Money.add(totalSalaryCents, emp.calculateSalaryCents());
+        }
+        System.out.println("total " + Money.format(totalSalaryCents));
+
+        try (PayrollEngine engine = new PayrollEngine()) {
+            engine.run(employees).displayDetails();
         }
-        System.out.println("total " + totalSalary);
     }
 }
@@ -0,0 +1,233 @@
+package employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams {@code type,id,name,department,amount[,hours]} rows straight out of a memory-mapped
+ * window of the file, where type is {@code FT} (amount is the monthly salary) or {@code PT}
+ * (amount is the hourly rate). Fields are not quoted, amounts have at most two decimals and a
+ * header row starting with {@code type} is skipped.
+ */
+public class EmployeeCsvReader {
+    private static final long WINDOW_SIZE = 64L << 20;
+
+    private final List<byte[]> departmentBytes = new ArrayList<>();
+    private final List<String> departmentNames = new ArrayList<>();
+    private final int[] commas = new int[6];
+    private byte[] scratch = new byte[64];
+    private long lineNumber;
+
+    private interface RowSink {
+        void fullTime(int id, String name, String department, long monthlySalaryCents);
+
+        void partTime(int id, String name, String department, long hourlyRateCents, int hoursWorked);
+    }
+
+    public long read(Path file, Consumer<Employee> sink) throws IOException {
+        return read(file, new RowSink() {
+            @Override
+            public void fullTime(int id, String name, String department, long monthlySalaryCents) {
+                sink.accept(FullTimeEmployee.ofCents(id, name, department, monthlySalaryCents));
+            }
+
+            @Override
+            public void partTime(int id, String name, String department, long hourlyRateCents, int hoursWorked) {
+                sink.accept(PartTimeEmployee.ofCents(id, name, department, hourlyRateCents, hoursWorked));
+            }
+        });
+    }
+
+    public long readInto(Path file, EmployeeRoster roster) throws IOException {
+        return read(file, new RowSink() {
+            @Override
+            public void fullTime(int id, String name, String department, long monthlySalaryCents) {
+                roster.addFullTime(id, name, department, monthlySalaryCents);
+            }
+
+            @Override
+            public void partTime(int id, String name, String department, long hourlyRateCents, int hoursWorked) {
+                roster.addPartTime(id, name, department, hourlyRateCents, hoursWorked);
+            }
+        });
+    }
+
+    private long read(Path file, RowSink sink) throws IOException {
+        lineNumber = 0;
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+
+                int lineStart = 0;
+                int limit = (int) length;
+                for (int i = 0; i < limit; i++) {
+                    if (window.get(i) == '\n') {
+                        rows += parseLine(window, lineStart, i, sink);
+                        lineStart = i + 1;
+                    }
+                }
+                if (lastWindow && lineStart < limit) {
+                    rows += parseLine(window, lineStart, limit, sink);
+                    lineStart = limit;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("line " + (lineNumber + 1) + " is longer than the read window");
+                }
+                // the partial line at the end of this window starts the next one
+                position += lineStart;
+            }
+        }
+        return rows;
+    }
+
+    private int parseLine(MappedByteBuffer buf, int start, int end, RowSink sink) throws IOException {
+        lineNumber++;
+        if (end > start && buf.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return 0;
+        }
+
+        int fields = 0;
+        for (int i = start; i < end && fields < commas.length; i++) {
+            if (buf.get(i) == ',') {
+                commas[fields++] = i;
+            }
+        }
+        if (buf.get(start) == 't') {
+            return 0;
+        }
+        if (end - start < 3) {
+            throw malformed("expected FT with 5 fields or PT with 6 fields");
+        }
+
+        boolean fullTime = buf.get(start) == 'F' && buf.get(start + 1) == 'T' && commas[0] == start + 2;
+        boolean partTime = buf.get(start) == 'P' && buf.get(start + 1) == 'T' && commas[0] == start + 2;
+        if ((!fullTime && !partTime) || fields != (fullTime ? 4 : 5)) {
+            throw malformed("expected FT with 5 fields or PT with 6 fields");
+        }
+
+        int id = parseInt(buf, commas[0] + 1, commas[1], "id");
+        String name = decode(buf, commas[1] + 1, commas[2]);
+        String department = internDepartment(buf, commas[2] + 1, commas[3]);
+        int amountEnd = fullTime ? end : commas[4];
+        long amountCents = parseCents(buf, commas[3] + 1, amountEnd);
+
+        try {
+            if (fullTime) {
+                sink.fullTime(id, name, department, amountCents);
+            } else {
+                sink.partTime(id, name, department, amountCents, parseInt(buf, commas[4] + 1, end, "hours"));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return 1;
+    }
+
+    private int parseInt(MappedByteBuffer buf, int start, int end, String field) throws IOException {
+        long value = parseLong(buf, start, end);
+        if (value > Integer.MAX_VALUE) {
+            throw malformed(field + " out of range");
+        }
+        return (int) value;
+    }
+
+    private long parseLong(MappedByteBuffer buf, int start, int end) throws IOException {
+        if (start == end) {
+            throw malformed("empty number");
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed("invalid number");
+            }
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw malformed("number out of range");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private long parseCents(MappedByteBuffer buf, int start, int end) throws IOException {
+        boolean negative = start < end && buf.get(start) == '-';
+        if (negative) {
+            start++;
+        }
+        int point = end;
+        for (int i = start; i < end; i++) {
+            if (buf.get(i) == '.') {
+                point = i;
+                break;
+            }
+        }
+        long units = parseLong(buf, start, point);
+        long cents = 0;
+        int decimals = point < end ? end - point - 1 : 0;
+        if (decimals > 2) {
+            throw malformed("amount has more than two decimals");
+        }
+        if (decimals > 0) {
+            cents = parseLong(buf, point + 1, end) * (decimals == 1 ? 10 : 1);
+        }
+        if (units > (Long.MAX_VALUE - cents) / 100) {
+            throw malformed("amount out of range");
+        }
+        long total = units * 100 + cents;
+        return negative ? -total : total;
+    }
+
+    private String decode(MappedByteBuffer buf, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buf.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // departments repeat on almost every row, so match the raw bytes against the ones already seen
+    private String internDepartment(MappedByteBuffer buf, int start, int end) {
+        int length = end - start;
+        for (int d = 0; d < departmentBytes.size(); d++) {
+            byte[] known = departmentBytes.get(d);
+            if (known.length == length && matches(buf, start, known)) {
+                return departmentNames.get(d);
+            }
+        }
+        String department = decode(buf, start, end);
+        departmentBytes.add(Arrays.copyOf(scratch, length));
+        departmentNames.add(department);
+        return department;
+    }
+
+    private static boolean matches(MappedByteBuffer buf, int start, byte[] known) {
+        for (int i = 0; i < known.length; i++) {
+            if (buf.get(start + i) != known[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IOException malformed(String reason) {
+        return new IOException("malformed row at line " + lineNumber + " " + reason);
+    }
+}
@@ -0,0 +1,178 @@
+package employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeRoster {
+    public static final byte OTHER = 0;
+    public static final byte FULL_TIME = 1;
+    public static final byte PART_TIME = 2;
+
+    private int[] ids;
+    private String[] names;
+    private int[] departments;
+    private byte[] types;
+    private long[] monthlyCents;
+    private long[] rateCents;
+    private int[] hours;
+    private int size;
+
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private final List<String> departmentNames = new ArrayList<>();
+
+    public EmployeeRoster(int capacity) {
+        ids = new int[capacity];
+        names = new String[capacity];
+        departments = new int[capacity];
+        types = new byte[capacity];
+        monthlyCents = new long[capacity];
+        rateCents = new long[capacity];
+        hours = new int[capacity];
+    }
+
+    public static EmployeeRoster from(List<? extends Employee> employees) {
+        EmployeeRoster roster = new EmployeeRoster(employees.size());
+        for (Employee employee : employees) {
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    public void add(Employee employee) {
+        if (employee instanceof FullTimeEmployee) {
+            FullTimeEmployee fullTime = (FullTimeEmployee) employee;
+            addFullTime(fullTime.getId(), fullTime.getName(), fullTime.getDepartment(), fullTime.getMonthlySalaryCents());
+        } else if (employee instanceof PartTimeEmployee) {
+            PartTimeEmployee partTime = (PartTimeEmployee) employee;
+            addPartTime(partTime.getId(), partTime.getName(), partTime.getDepartment(),
+                    partTime.getHourlyRateCents(), partTime.getHoursWorked());
+        } else {
+            append(employee.getId(), employee.getName(), employee.getDepartment(), OTHER);
+        }
+    }
+
+    public int addFullTime(int id, String name, String department, long monthlySalaryCents) {
+        int index = append(id, name, department, FULL_TIME);
+        monthlyCents[index] = monthlySalaryCents;
+        return index;
+    }
+
+    public int addPartTime(int id, String name, String department, long hourlyRateCents, int hoursWorked) {
+        int index = append(id, name, department, PART_TIME);
+        rateCents[index] = hourlyRateCents;
+        hours[index] = hoursWorked;
+        return index;
+    }
+
+    private int append(int id, String name, String department, byte type) {
+        if (size == ids.length) {
+            grow();
+        }
+        int index = size++;
+        ids[index] = id;
+        names[index] = name;
+        departments[index] = departmentCode(department);
+        types[index] = type;
+        return index;
+    }
+
+    public int departmentCode(String department) {
+        Integer code = departmentCodes.get(department);
+        if (code == null) {
+            code = departmentNames.size();
+            departmentCodes.put(department, code);
+            departmentNames.add(department);
+        }
+        return code;
+    }
+
+    public Employee get(int index) {
+        String department = departmentNames.get(departments[index]);
+        if (types[index] == FULL_TIME) {
+            return FullTimeEmployee.ofCents(ids[index], names[index], department, monthlyCents[index]);
+        }
+        if (types[index] == PART_TIME) {
+            return PartTimeEmployee.ofCents(ids[index], names[index], department, rateCents[index], hours[index]);
+        }
+        return new Employee(ids[index], names[index], department);
+    }
+
+    public List<Employee> toEmployees() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(get(i));
+        }
+        return employees;
+    }
+
+    // unused columns stay zero, so one branch-free expression covers every employee type
+    public long salaryCents(int index) {
+        return monthlyCents[index] + rateCents[index] * hours[index];
+    }
+
+    public void salaries(long[] out) {
+        long[] monthly = monthlyCents;
+        long[] rate = rateCents;
+        int[] worked = hours;
+        for (int i = 0; i < size; i++) {
+            out[i] = monthly[i] + rate[i] * worked[i];
+        }
+    }
+
+    public long totalSalaryCents() {
+        long[] monthly = monthlyCents;
+        long[] rate = rateCents;
+        int[] worked = hours;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += monthly[i] + rate[i] * worked[i];
+        }
+        return total;
+    }
+
+    public long[] departmentTotalsCents() {
+        long[] totals = new long[departmentNames.size()];
+        for (int i = 0; i < size; i++) {
+            totals[departments[i]] += monthlyCents[i] + rateCents[i] * hours[i];
+        }
+        return totals;
+    }
+
+    public String departmentName(int code) {
+        return departmentNames.get(code);
+    }
+
+    public int departmentCount() {
+        return departmentNames.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public int department(int index) {
+        return departments[index];
+    }
+
+    public byte type(int index) {
+        return types[index];
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+        types = Arrays.copyOf(types, capacity);
+        monthlyCents = Arrays.copyOf(monthlyCents, capacity);
+        rateCents = Arrays.copyOf(rateCents, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+    }
+}
@@ -1,21 +1,47 @@
 package employee;
 
+import common.Money;
+
 public class FullTimeEmployee extends Employee {
-    private double monthlySalary;
+    private static final long serialVersionUID = 1L;
+
+    private volatile long monthlySalaryCents;
 
     public FullTimeEmployee(int id, String name, String department, double monthlySalary) {
+        this(id, name, department, Money.fromDouble(monthlySalary));
+    }
+
+    private FullTimeEmployee(int id, String name, String department, long monthlySalaryCents) {
         super(id, name, department);
-        this.monthlySalary = monthlySalary;
+        this.monthlySalaryCents = monthlySalaryCents;
+    }
+
+    public static FullTimeEmployee ofCents(int id, String name, String department, long monthlySalaryCents) {
+        return new FullTimeEmployee(id, name, department, monthlySalaryCents);
+    }
+
+    public long getMonthlySalaryCents() {
+        return monthlySalaryCents;
+    }
+
+    public void setMonthlySalary(double monthlySalary) {
+        setMonthlySalaryCents(Money.fromDouble(monthlySalary));
+    }
+
+    public synchronized void setMonthlySalaryCents(long monthlySalaryCents) {
+        long old = calculateSalaryCents();
+        this.monthlySalaryCents = monthlySalaryCents;
+        salaryChanged(old);
     }
 
     @Override
-    public double calculateSalary() {
-        return monthlySalary;
+    public long calculateSalaryCents() {
+        return monthlySalaryCents;
     }
 
     @Override
-    public void displayDetails() {
-        System.out.println("\nfull time employee");
-        super.displayDetails();
+    public void appendDetails(StringBuilder out) {
+        out.append("\nfull time employee\n");
+        super.appendDetails(out);
     }
 }
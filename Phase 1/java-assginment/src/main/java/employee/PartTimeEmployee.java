@@ -1,25 +1,63 @@
 package employee;
 
+import common.Money;
+
 public class PartTimeEmployee extends Employee {
-    private double hourlyRate;
-    private int hoursWorked;
+    private static final long serialVersionUID = 1L;
+
+    private volatile long hourlyRateCents;
+    private volatile int hoursWorked;
 
     public PartTimeEmployee(int id, String name, String department, double hourlyRate, int hoursWorked) {
+        this(id, name, department, Money.fromDouble(hourlyRate), hoursWorked);
+    }
+
+    private PartTimeEmployee(int id, String name, String department, long hourlyRateCents, int hoursWorked) {
         super(id, name, department);
-        this.hourlyRate = hourlyRate;
+        this.hourlyRateCents = hourlyRateCents;
+        this.hoursWorked = hoursWorked;
+    }
+
+    public static PartTimeEmployee ofCents(int id, String name, String department, long hourlyRateCents, int hoursWorked) {
+        return new PartTimeEmployee(id, name, department, hourlyRateCents, hoursWorked);
+    }
+
+    public long getHourlyRateCents() {
+        return hourlyRateCents;
+    }
+
+    public int getHoursWorked() {
+        return hoursWorked;
+    }
+
+    public void setHourlyRate(double hourlyRate) {
+        setHourlyRateCents(Money.fromDouble(hourlyRate));
+    }
+
+    public synchronized void setHourlyRateCents(long hourlyRateCents) {
+        long old = calculateSalaryCents();
+        this.hourlyRateCents = hourlyRateCents;
+        salaryChanged(old);
+    }
+
+    public synchronized void setHoursWorked(int hoursWorked) {
+        long old = calculateSalaryCents();
         this.hoursWorked = hoursWorked;
+        salaryChanged(old);
     }
 
     @Override
-    public double calculateSalary() {
-        return hourlyRate * hoursWorked;
+    public long calculateSalaryCents() {
+        return Money.multiply(hourlyRateCents, hoursWorked);
     }
 
     @Override
-    public void displayDetails() {
-        System.out.println("\npart time employee");
-        System.out.println("hourly rate " + hourlyRate);
-        System.out.println("hours worked " + hoursWorked);
-        super.displayDetails();
+    public void appendDetails(StringBuilder out) {
+        out.append("\npart time employee\n");
+        out.append("hourly rate ");
+        Money.appendTo(out, hourlyRateCents);
+        out.append('\n');
+        out.append("hours worked ").append(hoursWorked).append('\n');
+        super.appendDetails(out);
     }
 }
@@ -0,0 +1,89 @@
+package employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PayrollCsvWriter implements Closeable {
+    private static final byte[] HEADER = "id,department,salary\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_CACHED_DEPARTMENTS = 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private final Map<String, byte[]> departmentBytes = new HashMap<>();
+    private final byte[] digits = new byte[20];
+    private long rows;
+
+    public PayrollCsvWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(HEADER);
+    }
+
+    public void write(Employee employee) throws IOException {
+        byte[] department = departmentBytes(employee.getDepartment());
+        if (buffer.remaining() < department.length + 48) {
+            flush();
+        }
+        putLong(employee.getId());
+        buffer.put((byte) ',').put(department).put((byte) ',');
+        putCents(employee.calculateSalaryCents());
+        buffer.put((byte) '\n');
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    // departments repeat across rows, but the cache stops growing if the input has unbounded distinct values
+    private byte[] departmentBytes(String department) {
+        byte[] bytes = departmentBytes.get(department);
+        if (bytes == null) {
+            bytes = department.getBytes(StandardCharsets.UTF_8);
+            if (departmentBytes.size() < MAX_CACHED_DEPARTMENTS) {
+                departmentBytes.put(department, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    private void putCents(long cents) {
+        if (cents < 0) {
+            buffer.put((byte) '-');
+            cents = -cents;
+        }
+        putLong(cents / 100);
+        int fraction = (int) (cents % 100);
+        buffer.put((byte) '.').put((byte) ('0' + fraction / 10)).put((byte) ('0' + fraction % 10));
+    }
+
+    private void putLong(long value) {
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        buffer.put(digits, pos, digits.length - pos);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
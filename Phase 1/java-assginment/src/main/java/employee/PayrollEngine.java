@@ -0,0 +1,88 @@
+package employee;
+
+import common.Money;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class PayrollEngine implements AutoCloseable {
+    private static final int DEFAULT_LEAF_SIZE = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    public PayrollEngine() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_LEAF_SIZE);
+    }
+
+    public PayrollEngine(int parallelism, int leafSize) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.leafSize = leafSize;
+    }
+
+    public PayrollSummary run(List<? extends Employee> employees) {
+        return run(employees.toArray(new Employee[0]));
+    }
+
+    public PayrollSummary run(Employee[] employees) {
+        Map<String, long[]> totals = pool.invoke(new PayrollTask(employees, 0, employees.length, leafSize));
+        Map<String, Long> departmentTotals = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            departmentTotals.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return new PayrollSummary(departmentTotals, employees.length);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // salaries are summed as long cents so any split of the roster produces the same totals
+    private static class PayrollTask extends RecursiveTask<Map<String, long[]>> {
+        private final Employee[] employees;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        PayrollTask(Employee[] employees, int from, int to, int leafSize) {
+            this.employees = employees;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Map<String, long[]> compute() {
+            if (to - from <= leafSize) {
+                Map<String, long[]> totals = new HashMap<>();
+                String lastDepartment = null;
+                long[] lastTotal = null;
+                for (int i = from; i < to; i++) {
+                    Employee employee = employees[i];
+                    String department = employee.getDepartment();
+                    if (department != lastDepartment) {
+                        lastDepartment = department;
+                        lastTotal = totals.computeIfAbsent(department, d -> new long[1]);
+                    }
+                    lastTotal[0] = Money.add(lastTotal[0], employee.calculateSalaryCents());
+                }
+                return totals;
+            }
+
+            int mid = (from + to) >>> 1;
+            PayrollTask left = new PayrollTask(employees, from, mid, leafSize);
+            left.fork();
+            Map<String, long[]> right = new PayrollTask(employees, mid, to, leafSize).compute();
+            Map<String, long[]> merged = left.join();
+            for (Map.Entry<String, long[]> entry : right.entrySet()) {
+                long[] total = merged.computeIfAbsent(entry.getKey(), d -> new long[1]);
+                total[0] = Money.add(total[0], entry.getValue()[0]);
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package employee;
+
+import common.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+public class PayrollExport {
+    private static final String[] DEPARTMENTS = {"engineering", "marketing", "support", "sales", "finance"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("streaming payroll export\n");
+
+        Path input;
+        Path output;
+        boolean generated = args.length < 2;
+        if (generated) {
+            int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+            input = Files.createTempFile("roster", ".csv");
+            output = Files.createTempFile("payroll", ".csv");
+            long start = System.nanoTime();
+            generate(input, rows);
+            System.out.println("generated " + rows + " rows in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        } else {
+            input = Path.of(args[0]);
+            output = Path.of(args[1]);
+        }
+
+        try {
+            long[] totalCents = new long[1];
+            long start = System.nanoTime();
+            long rows;
+            try (PayrollCsvWriter writer = new PayrollCsvWriter(output)) {
+                rows = new EmployeeCsvReader().read(input, employee -> {
+                    try {
+                        writer.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    totalCents[0] = Money.add(totalCents[0], employee.calculateSalaryCents());
+                });
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println("rows " + rows);
+            System.out.println("total salary " + Money.format(totalCents[0]));
+            System.out.println("elapsed " + elapsed / 1_000_000 + "ms");
+            System.out.println("rows per second " + (rows * 1_000_000_000L / Math.max(1, elapsed)));
+        } finally {
+            if (generated) {
+                Files.deleteIfExists(input);
+                Files.deleteIfExists(output);
+            }
+        }
+    }
+
+    private static void generate(Path file, int rows) throws IOException {
+        SplittableRandom random = new SplittableRandom(11);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringBuilder line = new StringBuilder(64);
+            line.append("type,id,name,department,amount,hours\n");
+            for (int i = 1; i <= rows; i++) {
+                String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+                if (random.nextBoolean()) {
+                    line.append("FT,").append(i).append(",employee ").append(i).append(',').append(department).append(',');
+                    Money.appendTo(line, random.nextInt(200_000, 1_000_000));
+                } else {
+                    line.append("PT,").append(i).append(",employee ").append(i).append(',').append(department).append(',');
+                    Money.appendTo(line, random.nextInt(1_000, 5_000));
+                    line.append(',').append(random.nextInt(10, 160));
+                }
+                line.append('\n');
+                if (line.length() > 4096 || i == rows) {
+                    byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+                    if (buffer.remaining() < bytes.length) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        buffer.clear();
+                    }
+                    buffer.put(bytes);
+                    line.setLength(0);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package employee;
+
+import common.Money;
+import common.Reportable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class PayrollSummary implements Reportable {
+    private final Map<String, Long> departmentTotals;
+    private final long totalCents;
+    private final long employeeCount;
+
+    public PayrollSummary(Map<String, Long> departmentTotals, long employeeCount) {
+        this.departmentTotals = Collections.unmodifiableMap(new TreeMap<>(departmentTotals));
+        long total = 0;
+        for (long departmentTotal : this.departmentTotals.values()) {
+            total = Money.add(total, departmentTotal);
+        }
+        this.totalCents = total;
+        this.employeeCount = employeeCount;
+    }
+
+    public Map<String, Long> getDepartmentTotals() {
+        return departmentTotals;
+    }
+
+    public long getDepartmentTotalCents(String department) {
+        return departmentTotals.getOrDefault(department, 0L);
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\npayroll summary\n");
+        out.append("employees ").append(employeeCount).append('\n');
+        for (Map.Entry<String, Long> entry : departmentTotals.entrySet()) {
+            out.append("department ").append(entry.getKey()).append(" total ");
+            Money.appendTo(out, entry.getValue());
+            out.append('\n');
+        }
+        out.append("total ");
+        Money.appendTo(out, totalCents);
+        out.append('\n');
+    }
+}
@@ -0,0 +1,81 @@
+package employee;
+
+import common.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PayrollView implements SalaryListener {
+    private final ConcurrentHashMap<String, AtomicLong> departmentTotals = new ConcurrentHashMap<>();
+    private final AtomicLong totalCents = new AtomicLong();
+    private final Set<Employee> members = ConcurrentHashMap.newKeySet();
+
+    public void add(Employee employee) {
+        synchronized (employee) {
+            if (employee.getSalaryListener() != null) {
+                throw new IllegalStateException("employee " + employee.getId() + " already belongs to a payroll view");
+            }
+            employee.setSalaryListener(this);
+            members.add(employee);
+            apply(employee.getDepartment(), employee.calculateSalaryCents());
+        }
+    }
+
+    public void remove(Employee employee) {
+        synchronized (employee) {
+            if (employee.getSalaryListener() != this) {
+                throw new IllegalStateException("employee " + employee.getId() + " is not in this payroll view");
+            }
+            employee.setSalaryListener(null);
+            members.remove(employee);
+            apply(employee.getDepartment(), -employee.calculateSalaryCents());
+        }
+    }
+
+    @Override
+    public void salaryChanged(Employee employee, long oldSalaryCents, long newSalaryCents) {
+        apply(employee.getDepartment(), Money.subtract(newSalaryCents, oldSalaryCents));
+    }
+
+    public long getTotalCents() {
+        return totalCents.get();
+    }
+
+    public long getDepartmentTotalCents(String department) {
+        AtomicLong total = departmentTotals.get(department);
+        return total == null ? 0 : total.get();
+    }
+
+    public int getEmployeeCount() {
+        return members.size();
+    }
+
+    public PayrollSummary recompute() {
+        Map<String, Long> totals = new HashMap<>();
+        for (Employee employee : members) {
+            totals.merge(employee.getDepartment(), employee.calculateSalaryCents(), Money::add);
+        }
+        return new PayrollSummary(totals, members.size());
+    }
+
+    public boolean reconcile() {
+        PayrollSummary full = recompute();
+        if (full.getTotalCents() != totalCents.get()) {
+            return false;
+        }
+        for (Map.Entry<String, AtomicLong> entry : departmentTotals.entrySet()) {
+            if (full.getDepartmentTotalCents(entry.getKey()) != entry.getValue().get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(String department, long deltaCents) {
+        departmentTotals.computeIfAbsent(department, d -> new AtomicLong()).addAndGet(deltaCents);
+        totalCents.addAndGet(deltaCents);
+    }
+}
@@ -0,0 +1,6 @@
+package employee;
+
+public interface SalaryListener {
+
+    void salaryChanged(Employee employee, long oldSalaryCents, long newSalaryCents);
+}
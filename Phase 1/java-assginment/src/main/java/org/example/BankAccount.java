@@ -1,6 +1,8 @@
 package org.example;
 
-public class BankAccount {
+import common.Reportable;
+
+public class BankAccount implements Reportable {
     int accountNumber;
     String holderName;
     double balance;
@@ -11,10 +13,11 @@ public class BankAccount {
         this.balance = balance;
     }
 
-    public void displayDetails() {
-        System.out.println("\naccount details");
-        System.out.println("account number " + accountNumber);
-        System.out.println("holder name " + holderName);
-        System.out.println("balance " + balance);
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\naccount details\n");
+        out.append("account number ").append(accountNumber).append('\n');
+        out.append("holder name ").append(holderName).append('\n');
+        out.append("balance ").append(balance).append('\n');
     }
 }
@@ -1,6 +1,8 @@
 package org.example;
 
-public class Book {
+import common.Reportable;
+
+public class Book implements Reportable {
     private String title;
     private String author;
     private double price;
@@ -11,9 +13,10 @@ public class Book {
         this.price = price;
     }
 
-    public void displayDetails() {
-        System.out.println("title " + title);
-        System.out.println("author " + author);
-        System.out.println("price " + price);
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("title ").append(title).append('\n');
+        out.append("author ").append(author).append('\n');
+        out.append("price ").append(price).append('\n');
     }
 }
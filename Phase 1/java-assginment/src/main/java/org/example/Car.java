@@ -1,6 +1,8 @@
 package org.example;
 
-public class Car {
+import common.Reportable;
+
+public class Car implements Reportable {
     private String model;
     private double price;
 
@@ -14,12 +16,13 @@ public class Car {
         this.price = price;
     }
 
-    public void displayDetails() {
-        System.out.println("model " + model);
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("model ").append(model).append('\n');
         if (price > 0) {
-            System.out.println("price " + price);
+            out.append("price ").append(price).append('\n');
         } else {
-            System.out.println("price not specified");
+            out.append("price not specified\n");
         }
     }
 }
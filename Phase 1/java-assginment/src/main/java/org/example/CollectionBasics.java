@@ -4,21 +4,26 @@ import java.util.*;
 public class CollectionBasics {
 
     public static void customerPOJO() {
-        List<Customer> customers = new ArrayList<>();
+        CustomerDirectory customers = new CustomerDirectory();
 
         Customer c1 = new Customer(1, "jim halpert", "jim@example.com");
         Customer c2 = new Customer(2, "dwight", "dwight@example.com");
         Customer c3 = new Customer(3, "michael Scott", "mike@example.com");
 
-        customers.add(c1);
-        customers.add(c2);
-        customers.add(c3);
+        try {
+            customers.add(c1);
+            customers.add(c2);
+            customers.add(c3);
+        } catch (InvalidEmailException e) {
+            System.out.println("error " + e.getMessage());
+        }
 
         System.out.println("customer details\n");
 
-        for (Customer customer : customers) {
-            customer.displayDetails();
-        }
+        customers.forEach(Customer::displayDetails);
+
+        System.out.println("lookup Dwight@Example.com");
+        customers.findByEmail("Dwight@Example.com").displayDetails();
     }
 
     public static void nonRepeat() {
@@ -1,6 +1,12 @@
 package org.example;
 
-public class Customer {
+import common.Reportable;
+
+import java.io.Serializable;
+
+public class Customer implements Serializable, Reportable {
+    private static final long serialVersionUID = 1L;
+
     private int id;
     private String name;
     private String email;
@@ -11,10 +17,23 @@ public class Customer {
         this.email = email;
     }
 
-    public void displayDetails() {
-        System.out.println("id " + id);
-        System.out.println("name " + name);
-        System.out.println("email " + email);
-        System.out.println();
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("id ").append(id).append('\n');
+        out.append("name ").append(name).append('\n');
+        out.append("email ").append(email).append('\n');
+        out.append('\n');
     }
 }
@@ -0,0 +1,178 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Customers indexed by id and by email. Emails are matched case-insensitively and ignoring
+ * surrounding whitespace, without storing a normalized copy: both indexes are open addressing
+ * tables of slot numbers into the customer array, and the email table keeps a cached hash per
+ * slot so probes only compare characters on a hash match.
+ */
+public class CustomerDirectory {
+    private Customer[] customers;
+    private int[] emailHashes;
+    private int size;
+
+    private int[] idTable;
+    private int[] emailTable;
+    private int mask;
+
+    public CustomerDirectory() {
+        this(16);
+    }
+
+    public CustomerDirectory(int expectedCustomers) {
+        int capacity = Math.max(1, expectedCustomers);
+        this.customers = new Customer[capacity];
+        this.emailHashes = new int[capacity];
+        allocateTables(capacity);
+    }
+
+    public void add(Customer customer) throws InvalidEmailException {
+        String email = customer.getEmail();
+        if (email == null || !EmailValidator.isValid(email.strip())) {
+            throw new InvalidEmailException("invalid email " + email);
+        }
+        if (findById(customer.getId()) != null) {
+            throw new IllegalArgumentException("customer " + customer.getId() + " already exists");
+        }
+        int hash = emailHash(email);
+        if (findEmailSlot(email, hash) >= 0) {
+            throw new IllegalArgumentException("email " + email + " already registered");
+        }
+        if (size == customers.length) {
+            customers = Arrays.copyOf(customers, size * 2);
+            emailHashes = Arrays.copyOf(emailHashes, size * 2);
+        }
+        customers[size] = customer;
+        emailHashes[size] = hash;
+        if ((size + 1) * 2 > idTable.length) {
+            allocateTables(size + 1);
+            for (int slot = 0; slot <= size; slot++) {
+                index(slot);
+            }
+        } else {
+            index(size);
+        }
+        size++;
+    }
+
+    public Customer findById(int id) {
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int entry = idTable[i];
+            if (entry == 0) {
+                return null;
+            }
+            if (customers[entry - 1].getId() == id) {
+                return customers[entry - 1];
+            }
+        }
+    }
+
+    public Customer findByEmail(CharSequence email) {
+        int slot = findEmailSlot(email, emailHash(email));
+        return slot < 0 ? null : customers[slot];
+    }
+
+    public boolean containsEmail(CharSequence email) {
+        return findByEmail(email) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Consumer<Customer> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(customers[i]);
+        }
+    }
+
+    /** Bytes held by the two index tables and the cached email hashes, excluding the customers. */
+    public long indexBytes() {
+        return 4L * (idTable.length + emailTable.length + emailHashes.length);
+    }
+
+    private void allocateTables(int customerCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, customerCapacity) * 2 - 1) << 1;
+        idTable = new int[capacity];
+        emailTable = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void index(int slot) {
+        int i = mix(customers[slot].getId()) & mask;
+        while (idTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idTable[i] = slot + 1;
+
+        i = mix(emailHashes[slot]) & mask;
+        while (emailTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        emailTable[i] = slot + 1;
+    }
+
+    private int findEmailSlot(CharSequence email, int hash) {
+        for (int i = mix(hash) & mask; ; i = (i + 1) & mask) {
+            int entry = emailTable[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (emailHashes[slot] == hash && sameEmail(customers[slot].getEmail(), email)) {
+                return slot;
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int start(CharSequence s) {
+        int i = 0;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int end(CharSequence s) {
+        int i = s.length();
+        while (i > 0 && Character.isWhitespace(s.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int emailHash(CharSequence email) {
+        int hash = 0;
+        for (int i = start(email), end = end(email); i < end; i++) {
+            hash = 31 * hash + fold(email.charAt(i));
+        }
+        return hash;
+    }
+
+    private static boolean sameEmail(CharSequence a, CharSequence b) {
+        int i = start(a);
+        int j = start(b);
+        int aEnd = end(a);
+        if (aEnd - i != end(b) - j) {
+            return false;
+        }
+        for (; i < aEnd; i++, j++) {
+            if (fold(a.charAt(i)) != fold(b.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example;
+
+public class EmailScanResult {
+    private final long valid;
+    private final long invalid;
+
+    EmailScanResult(long valid, long invalid) {
+        this.valid = valid;
+        this.invalid = invalid;
+    }
+
+    public long getValid() {
+        return valid;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getTotal() {
+        return valid + invalid;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Syntax check for plain ASCII addresses: a dot-atom local part of at most 64 characters, one
+ * {@code @}, and a domain of at least two letter-digit-hyphen labels, with a 254 character total
+ * limit. Quoted local parts, address literals and non-ASCII addresses are rejected.
+ */
+public final class EmailValidator {
+    public static final int MAX_LENGTH = 254;
+
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final boolean[] LOCAL_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            LOCAL_CHARS[c] = true;
+            LOCAL_CHARS[c - 'a' + 'A'] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            LOCAL_CHARS[c] = true;
+        }
+        for (char c : "!#$%&'*+/=?^_`{|}~-".toCharArray()) {
+            LOCAL_CHARS[c] = true;
+        }
+    }
+
+    private EmailValidator() {
+    }
+
+    public static boolean isValid(CharSequence email) {
+        int length = email.length();
+        if (length < 3 || length > MAX_LENGTH) {
+            return false;
+        }
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            if (email.charAt(i) == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            }
+        }
+        if (at < 1 || at > MAX_LOCAL_LENGTH) {
+            return false;
+        }
+        return isValidLocal(email, at) && isValidDomain(email, at + 1, length);
+    }
+
+    private static boolean isValidLocal(CharSequence email, int end) {
+        char previous = '.';
+        for (int i = 0; i < end; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previous == '.') {
+                    return false;
+                }
+            } else if (c >= 128 || !LOCAL_CHARS[c]) {
+                return false;
+            }
+            previous = c;
+        }
+        return previous != '.';
+    }
+
+    private static boolean isValidDomain(CharSequence email, int start, int end) {
+        int labels = 0;
+        int labelStart = start;
+        boolean labelHasLetter = false;
+        for (int i = start; i <= end; i++) {
+            char c = i == end ? '.' : email.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i == end && !labelHasLetter) {
+                    // an all numeric top level label is an address, not a host name
+                    return false;
+                }
+                labelStart = i + 1;
+                labelHasLetter = false;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                labelHasLetter = true;
+            } else if ((c < '0' || c > '9') && c != '-') {
+                return false;
+            }
+        }
+        return labels >= 2;
+    }
+
+    /**
+     * Validates one address per line, reading the file through a single reusable buffer. Blank
+     * lines are skipped and a trailing carriage return is ignored.
+     */
+    public static EmailScanResult validateFile(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        byte[] bytes = buffer.array();
+        AsciiLine line = new AsciiLine(bytes);
+        long validCount = 0;
+        long invalidCount = 0;
+        boolean skippingLongLine = false;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    if (skippingLongLine) {
+                        skippingLongLine = false;
+                    } else if (line.set(lineStart, i)) {
+                        if (isValid(line)) {
+                            validCount++;
+                        } else {
+                            invalidCount++;
+                        }
+                    }
+                    lineStart = i + 1;
+                }
+                if (eof && lineStart < limit && !skippingLongLine) {
+                    if (line.set(lineStart, limit)) {
+                        if (isValid(line)) {
+                            validCount++;
+                        } else {
+                            invalidCount++;
+                        }
+                    }
+                    lineStart = limit;
+                }
+                if (lineStart == 0 && limit == bytes.length) {
+                    // no newline in a full buffer, far past MAX_LENGTH, so count it once and skip the rest
+                    if (!skippingLongLine) {
+                        invalidCount++;
+                        skippingLongLine = true;
+                    }
+                    lineStart = limit;
+                }
+                System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+                buffer.position(limit - lineStart);
+            }
+        }
+        return new EmailScanResult(validCount, invalidCount);
+    }
+
+    private static final class AsciiLine implements CharSequence {
+        private final byte[] bytes;
+        private int offset;
+        private int length;
+
+        AsciiLine(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean set(int start, int end) {
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+            offset = start;
+            length = end - start;
+            return length > 0;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            // bytes above 0x7F map to chars the validator rejects
+            return (char) (bytes[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
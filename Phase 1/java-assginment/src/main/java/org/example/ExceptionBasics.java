@@ -2,6 +2,7 @@ package org.example;
 import java.util.Scanner;
 
 public class ExceptionBasics {
+    private static volatile boolean stacklessFailures;
 
     public static void divisionWithException() {
         Scanner sc = new Scanner(System.in);
@@ -99,9 +100,18 @@ public class ExceptionBasics {
         }
     }
 
-    private static void validateEmail(String email) throws InvalidEmailException {
-        if (!email.contains("@")) {
-            throw new InvalidEmailException("email must contain @ symbol");
+    public static void validateEmail(String email) throws InvalidEmailException {
+        if (!isValidEmail(email)) {
+            throw stacklessFailures ? InvalidEmailException.stackless()
+                    : new InvalidEmailException("email is not a valid address");
         }
     }
+
+    public static void setStacklessFailures(boolean stacklessFailures) {
+        ExceptionBasics.stacklessFailures = stacklessFailures;
+    }
+
+    public static boolean isValidEmail(String email) {
+        return EmailValidator.isValid(email);
+    }
 }
@@ -1,8 +1,17 @@
 package org.example;
 
 public class InvalidEmailException extends Exception {
+    private static final InvalidEmailException STACKLESS = new InvalidEmailException("email is not a valid address", false);
 
     public InvalidEmailException(String message) {
         super(message);
     }
+
+    public InvalidEmailException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static InvalidEmailException stackless() {
+        return STACKLESS;
+    }
 }
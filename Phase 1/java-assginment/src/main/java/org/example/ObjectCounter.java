@@ -1,14 +1,16 @@
 package org.example;
 
+import java.util.concurrent.atomic.LongAdder;
+
 public class ObjectCounter {
-    private static int count = 0;
+    private static final LongAdder count = new LongAdder();
 
     public ObjectCounter() {
-        count++;
+        count.increment();
     }
 
     public static int getCount() {
-        return count;
+        return count.intValue();
     }
 
     public static void displayCount() {
@@ -1,6 +1,8 @@
 package org.example;
 
-public class Student {
+import common.Reportable;
+
+public class Student implements Reportable {
     String name;
     int marks1;
     int marks2;
@@ -15,10 +17,15 @@ public class Student {
     }
 
     public void displayReport() {
-        System.out.println("\nstudent report");
-        System.out.println("name " + name);
-        System.out.println("marks " + marks1 + " " + marks2 + " " + marks3);
-        System.out.println("total marks " + calculateTotal());
-        System.out.println("average " + calculateAverage());
+        displayDetails();
+    }
+
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\nstudent report\n");
+        out.append("name ").append(name).append('\n');
+        out.append("marks ").append(marks1).append(' ').append(marks2).append(' ').append(marks3).append('\n');
+        out.append("total marks ").append(calculateTotal()).append('\n');
+        out.append("average ").append(calculateAverage()).append('\n');
     }
 }
@@ -0,0 +1,131 @@
+package product;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkRepricer implements AutoCloseable {
+    private static final int[] NONE = new int[0];
+    private static final int OPTIMISTIC_ATTEMPTS = 3;
+
+    private final ForkJoinPool pool;
+
+    public BulkRepricer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BulkRepricer(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    // every failing product is collected and, if there are any, no price changes are published
+    public RepricingResult reprice(VersionedCatalog catalog, RepricingRule rule) {
+        // a version published while the rule runs forces a rerun against it; after a few losses the
+        // last attempt holds the write lock so a steady stream of single price changes cannot starve it
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            RepricingResult result = attempt(catalog, rule);
+            if (result != null) {
+                return result;
+            }
+        }
+        return catalog.exclusively(() -> attempt(catalog, rule));
+    }
+
+    private RepricingResult attempt(VersionedCatalog catalog, RepricingRule rule) {
+        CatalogSnapshot base = catalog.snapshot();
+        long[][] basePages = base.pricePages();
+        if (basePages.length == 0) {
+            return new RepricingResult(true, base.getVersion(), 0, NONE);
+        }
+        long[][] pages = basePages.clone();
+        AtomicInteger changed = new AtomicInteger();
+        int[] failed = pool.invoke(new PageTask(base, rule, pages, 0, pages.length, changed));
+
+        if (failed.length > 0) {
+            int[] failedIds = new int[failed.length];
+            for (int i = 0; i < failed.length; i++) {
+                failedIds[i] = base.idAt(failed[i]);
+            }
+            return new RepricingResult(false, base.getVersion(), 0, failedIds);
+        }
+        if (changed.get() == 0) {
+            return new RepricingResult(true, base.getVersion(), 0, NONE);
+        }
+        CatalogSnapshot next = catalog.tryPublishPages(base, pages);
+        return next == null ? null : new RepricingResult(true, next.getVersion(), changed.get(), NONE);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static class PageTask extends RecursiveTask<int[]> {
+        private final CatalogSnapshot base;
+        private final RepricingRule rule;
+        private final long[][] pages;
+        private final int from;
+        private final int to;
+        private final AtomicInteger changed;
+
+        PageTask(CatalogSnapshot base, RepricingRule rule, long[][] pages, int from, int to, AtomicInteger changed) {
+            this.base = base;
+            this.rule = rule;
+            this.pages = pages;
+            this.from = from;
+            this.to = to;
+            this.changed = changed;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                PageTask left = new PageTask(base, rule, pages, from, mid, changed);
+                left.fork();
+                int[] right = new PageTask(base, rule, pages, mid, to, changed).compute();
+                int[] leftFailed = left.join();
+                if (right.length == 0) {
+                    return leftFailed;
+                }
+                if (leftFailed.length == 0) {
+                    return right;
+                }
+                int[] merged = Arrays.copyOf(leftFailed, leftFailed.length + right.length);
+                System.arraycopy(right, 0, merged, leftFailed.length, right.length);
+                return merged;
+            }
+
+            long[] page = pages[from];
+            long[] copy = null;
+            int[] failed = NONE;
+            int failedCount = 0;
+            int pageChanged = 0;
+            int first = from << CatalogSnapshot.PAGE_SHIFT;
+            for (int i = 0; i < page.length; i++) {
+                long price = rule.reprice(base, first + i, page[i]);
+                if (price == page[i]) {
+                    continue;
+                }
+                if (price < 0) {
+                    if (failedCount == failed.length) {
+                        failed = Arrays.copyOf(failed, Math.max(8, failedCount * 2));
+                    }
+                    failed[failedCount++] = first + i;
+                    continue;
+                }
+                if (copy == null) {
+                    copy = page.clone();
+                }
+                copy[i] = price;
+                pageChanged++;
+            }
+            if (copy != null) {
+                pages[from] = copy;
+                changed.addAndGet(pageChanged);
+            }
+            return failedCount == failed.length ? failed : Arrays.copyOf(failed, failedCount);
+        }
+    }
+}
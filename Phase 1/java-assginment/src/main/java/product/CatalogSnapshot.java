@@ -0,0 +1,119 @@
+package product;
+
+import common.IntIntHashMap;
+
+public class CatalogSnapshot {
+    static final int PAGE_SHIFT = 12;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final long version;
+    private final int[] ids;
+    private final String[] names;
+    private final int[] categoryCodes;
+    private final String[] categoryNames;
+    private final long[][] pricePages;
+    private final IntIntHashMap idIndex;
+    private final int size;
+
+    CatalogSnapshot(long version, int[] ids, String[] names, int[] categoryCodes, String[] categoryNames,
+                    long[][] pricePages, IntIntHashMap idIndex, int size) {
+        this.version = version;
+        this.ids = ids;
+        this.names = names;
+        this.categoryCodes = categoryCodes;
+        this.categoryNames = categoryNames;
+        this.pricePages = pricePages;
+        this.idIndex = idIndex;
+        this.size = size;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int indexOf(int id) {
+        return idIndex.getOrDefault(id, -1);
+    }
+
+    public boolean contains(int id) {
+        return idIndex.containsKey(id);
+    }
+
+    public long priceCents(int id) {
+        int index = idIndex.getOrDefault(id, -1);
+        if (index < 0) {
+            throw new IllegalArgumentException("product " + id + " not in catalog");
+        }
+        return priceCentsAt(index);
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public String nameAt(int index) {
+        return names[index];
+    }
+
+    public String categoryAt(int index) {
+        return categoryNames[categoryCodes[index]];
+    }
+
+    public int categoryCodeAt(int index) {
+        return categoryCodes[index];
+    }
+
+    public int categoryCode(String category) {
+        for (int code = 0; code < categoryNames.length; code++) {
+            if (categoryNames[code].equals(category)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    public int categoryCount() {
+        return categoryNames.length;
+    }
+
+    public String categoryName(int code) {
+        return categoryNames[code];
+    }
+
+    public long priceCentsAt(int index) {
+        return pricePages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+    }
+
+    public Product productAt(int index) {
+        return Product.ofValidatedCents(ids[index], names[index], categoryAt(index), priceCentsAt(index));
+    }
+
+    int[] ids() {
+        return ids;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    int[] categoryCodes() {
+        return categoryCodes;
+    }
+
+    String[] categoryNames() {
+        return categoryNames;
+    }
+
+    long[][] pricePages() {
+        return pricePages;
+    }
+
+    IntIntHashMap idIndex() {
+        return idIndex;
+    }
+}
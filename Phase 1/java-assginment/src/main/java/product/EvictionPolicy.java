@@ -0,0 +1,20 @@
+package product;
+
+import java.util.function.IntConsumer;
+
+public interface EvictionPolicy {
+
+    void onAccess(int id);
+
+    void onAdmit(int id, long weight, IntConsumer evictor);
+
+    void onRemove(int id);
+
+    static EvictionPolicy lru(long maxWeight) {
+        return new LruPolicy(maxWeight);
+    }
+
+    static EvictionPolicy tinyLfu(long maxWeight) {
+        return new TinyLfuPolicy(maxWeight);
+    }
+}
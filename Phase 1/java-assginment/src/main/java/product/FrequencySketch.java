@@ -0,0 +1,80 @@
+package product;
+
+/**
+ * Count-min sketch of recent access frequency, sized from the number of entries it has to tell
+ * apart. It starts from an estimate and {@link #ensureCapacity} grows it as the cache fills;
+ * growing starts the counts afresh, which the periodic halving does anyway.
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MIN_WIDTH = 16;
+    // largest power of two whose DEPTH rows still fit one int-indexed array
+    static final int MAX_WIDTH = Integer.highestOneBit(Integer.MAX_VALUE / DEPTH);
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private byte[] counters;
+    private int mask;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedEntries) {
+        resize(widthFor(expectedEntries));
+    }
+
+    /** Widens the sketch when it holds too few counters per row for {@code entries} distinct ids. */
+    void ensureCapacity(long entries) {
+        int width = widthFor(entries);
+        if (width > mask + 1) {
+            resize(width);
+        }
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    // two counters per entry in each row, rounded up to a power of two so the hash can be masked
+    static int widthFor(long entries) {
+        long wanted = Math.max(MIN_WIDTH, Math.min(Math.max(entries, 0), MAX_WIDTH / 2) * 2);
+        return (int) Math.min(MAX_WIDTH, Long.highestOneBit(wanted - 1) << 1);
+    }
+
+    private void resize(int width) {
+        this.counters = new byte[Math.toIntExact((long) width * DEPTH)];
+        this.mask = width - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * width);
+        this.additions = 0;
+    }
+
+    int frequency(int id) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[index(id, row)]);
+        }
+        return min;
+    }
+
+    void increment(int id) {
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(id, row);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        // halving every counter periodically lets the sketch forget items that were popular long ago
+        if (added && ++additions >= sampleSize) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+            additions /= 2;
+        }
+    }
+
+    private int index(int id, int row) {
+        long h = (id + SEEDS[row]) * SEEDS[(row + 1) & 3];
+        return row * (mask + 1) + (int) ((h ^ (h >>> 32)) & mask);
+    }
+}
@@ -0,0 +1,42 @@
+package product;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+class LruPolicy implements EvictionPolicy {
+    private final LinkedHashMap<Integer, Long> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private long weight;
+
+    LruPolicy(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public void onAccess(int id) {
+        order.get(id);
+    }
+
+    @Override
+    public void onAdmit(int id, long entryWeight, IntConsumer evictor) {
+        order.put(id, entryWeight);
+        weight += entryWeight;
+        Iterator<Map.Entry<Integer, Long>> eldest = order.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<Integer, Long> victim = eldest.next();
+            eldest.remove();
+            weight -= victim.getValue();
+            evictor.accept(victim.getKey());
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        Long removed = order.remove(id);
+        if (removed != null) {
+            weight -= removed;
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package product;
 
 public class NegativePriceException extends Exception {
+    private static final NegativePriceException STACKLESS = new NegativePriceException("price cannot be negative", false);
 
     public NegativePriceException(String message) {
         super(message);
     }
+
+    public NegativePriceException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static NegativePriceException stackless() {
+        return STACKLESS;
+    }
 }
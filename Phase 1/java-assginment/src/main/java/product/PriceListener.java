@@ -0,0 +1,6 @@
+package product;
+
+public interface PriceListener {
+
+    void priceChanged(Product product, long oldPriceCents, long newPriceCents);
+}
@@ -1,17 +1,74 @@
 package product;
 
-public class Product {
+import common.Money;
+import common.Reportable;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+public class Product implements Serializable, Reportable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String DEFAULT_CATEGORY = "general";
+
+    private static final VarHandle LISTENERS;
+
+    static {
+        try {
+            LISTENERS = MethodHandles.lookup().findVarHandle(Product.class, "priceListeners", PriceListener[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private int id;
     private String name;
-    private double price;
+    private String category;
+    private volatile long priceCents;
+    private transient volatile PriceListener[] priceListeners;
+
+    private static volatile boolean stacklessFailures;
 
     public Product(int id, String name, double price) throws NegativePriceException {
+        this(id, name, DEFAULT_CATEGORY, price);
+    }
+
+    public Product(int id, String name, String category, double price) throws NegativePriceException {
         if (price < 0) {
-            throw new NegativePriceException("price cannot be negative");
+            throw negativePrice();
         }
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.category = category;
+        this.priceCents = Money.fromDouble(price);
+    }
+
+    private Product(int id, String name, String category, long priceCents) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.priceCents = priceCents;
+    }
+
+    public static Product ofCents(int id, String name, long priceCents) throws NegativePriceException {
+        return ofCents(id, name, DEFAULT_CATEGORY, priceCents);
+    }
+
+    public static Product ofCents(int id, String name, String category, long priceCents) throws NegativePriceException {
+        if (priceCents < 0) {
+            throw negativePrice();
+        }
+        return new Product(id, name, category, priceCents);
+    }
+
+    public static void setStacklessFailures(boolean stacklessFailures) {
+        Product.stacklessFailures = stacklessFailures;
+    }
+
+    static Product ofValidatedCents(int id, String name, String category, long priceCents) {
+        return new Product(id, name, category, priceCents);
     }
 
     public int getId() {
@@ -22,20 +79,98 @@ public class Product {
         return name;
     }
 
+    public String getCategory() {
+        return category;
+    }
+
     public double getPrice() {
-        return price;
+        return Money.toDouble(priceCents);
+    }
+
+    public long getPriceCents() {
+        return priceCents;
     }
 
     public void setPrice(double price) throws NegativePriceException {
         if (price < 0) {
-            throw new NegativePriceException("price cannot be negative");
+            throw negativePrice();
         }
-        this.price = price;
+        setPriceCents(Money.fromDouble(price));
+    }
+
+    public void setPriceCents(long priceCents) throws NegativePriceException {
+        if (!trySetPriceCents(priceCents)) {
+            throw negativePrice();
+        }
+    }
+
+    public boolean trySetPriceCents(long priceCents) {
+        if (priceCents < 0) {
+            return false;
+        }
+        long old = this.priceCents;
+        this.priceCents = priceCents;
+        PriceListener[] listeners = priceListeners;
+        if (listeners != null && old != priceCents) {
+            for (PriceListener listener : listeners) {
+                listener.priceChanged(this, old, priceCents);
+            }
+        }
+        return true;
+    }
+
+    // listeners are a copy-on-write array swapped in with a CAS so concurrent registrations are not lost
+    public void addPriceListener(PriceListener listener) {
+        while (true) {
+            PriceListener[] current = priceListeners;
+            PriceListener[] next;
+            if (current == null) {
+                next = new PriceListener[]{listener};
+            } else {
+                next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = listener;
+            }
+            if (LISTENERS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    public boolean removePriceListener(PriceListener listener) {
+        while (true) {
+            PriceListener[] current = priceListeners;
+            int index = -1;
+            for (int i = 0; current != null && i < current.length; i++) {
+                if (current[i] == listener) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            PriceListener[] next = null;
+            if (current.length > 1) {
+                next = new PriceListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, next.length - index);
+            }
+            if (LISTENERS.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static NegativePriceException negativePrice() {
+        return stacklessFailures ? NegativePriceException.stackless() : new NegativePriceException("price cannot be negative");
     }
 
-    public void displayDetails() {
-        System.out.println("\nproduct id " + id);
-        System.out.println("name " + name);
-        System.out.println("price " + price);
+    @Override
+    public void appendDetails(StringBuilder out) {
+        out.append("\nproduct id ").append(id).append('\n');
+        out.append("name ").append(name).append('\n');
+        out.append("price ");
+        Money.appendTo(out, priceCents);
+        out.append('\n');
     }
 }
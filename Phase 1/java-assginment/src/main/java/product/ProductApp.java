@@ -28,6 +28,16 @@ public class ProductApp {
                 product.displayDetails();
             }
 
+            ProductCatalog catalog = new ProductCatalog();
+            for (Product product : products) {
+                catalog.add(product);
+            }
+
+            System.out.println("\n\nproducts between 20 and 80");
+            for (Product product : catalog.findByPriceRange(20, 80)) {
+                product.displayDetails();
+            }
+
             System.out.println("\n\ntrying to set negative price");
             p1.setPrice(-100);
 
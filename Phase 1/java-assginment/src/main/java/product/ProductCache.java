@@ -0,0 +1,93 @@
+package product;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+public class ProductCache implements PriceListener, AutoCloseable {
+    private final ProductStore store;
+    private final EvictionPolicy policy;
+    private final ToLongFunction<Product> weigher;
+    private final Map<Integer, Product> entries = new HashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public ProductCache(ProductStore store, EvictionPolicy policy) {
+        this(store, policy, product -> 1);
+    }
+
+    public ProductCache(ProductStore store, EvictionPolicy policy, ToLongFunction<Product> weigher) {
+        this.store = store;
+        this.policy = policy;
+        this.weigher = weigher;
+    }
+
+    public Product get(int id) {
+        synchronized (this) {
+            Product cached = entries.get(id);
+            if (cached != null) {
+                stats.recordHit();
+                policy.onAccess(id);
+                return cached;
+            }
+        }
+
+        stats.recordMiss();
+        Product loaded = store.load(id);
+        if (loaded == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            Product raced = entries.get(id);
+            if (raced != null) {
+                return raced;
+            }
+            // only cached entries hold a listener, so evicted products do not keep the cache reachable
+            entries.put(id, loaded);
+            loaded.addPriceListener(this);
+            policy.onAdmit(id, weigher.applyAsLong(loaded), evicted -> {
+                drop(evicted);
+                stats.recordEviction();
+            });
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(int id) {
+        if (drop(id)) {
+            policy.onRemove(id);
+            stats.recordInvalidation();
+        }
+    }
+
+    @Override
+    public void priceChanged(Product product, long oldPriceCents, long newPriceCents) {
+        invalidate(product.getId());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Map.Entry<Integer, Product> entry : entries.entrySet()) {
+            entry.getValue().removePriceListener(this);
+            policy.onRemove(entry.getKey());
+        }
+        entries.clear();
+    }
+
+    private boolean drop(int id) {
+        Product removed = entries.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        removed.removePriceListener(this);
+        return true;
+    }
+}
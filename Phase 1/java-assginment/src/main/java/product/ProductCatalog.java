@@ -0,0 +1,191 @@
+package product;
+
+import common.IntIntHashMap;
+import common.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class ProductCatalog implements PriceListener {
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private Product[] products;
+    private int size;
+    private final IntIntHashMap idIndex;
+
+    private long[] sortedPrices = new long[0];
+    private Product[] byPrice = new Product[0];
+    private boolean priceIndexStale;
+
+    private Product[] byName = new Product[0];
+    private boolean nameIndexStale;
+
+    public ProductCatalog() {
+        this(16);
+    }
+
+    public ProductCatalog(int expectedProducts) {
+        this.products = new Product[Math.max(1, expectedProducts)];
+        this.idIndex = new IntIntHashMap(expectedProducts);
+    }
+
+    public void add(Product product) {
+        if (!idIndex.putIfAbsent(product.getId(), size)) {
+            throw new IllegalArgumentException("product " + product.getId() + " already exists");
+        }
+        if (size == products.length) {
+            products = Arrays.copyOf(products, size * 2);
+        }
+        products[size++] = product;
+        product.addPriceListener(this);
+        priceIndexStale = true;
+        nameIndexStale = true;
+    }
+
+    public Product get(int id) {
+        int position = idIndex.getOrDefault(id, -1);
+        return position < 0 ? null : products[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // moves the one entry to its new slot instead of re-sorting, shifting only the entries in between
+    @Override
+    public void priceChanged(Product product, long oldPriceCents, long newPriceCents) {
+        if (priceIndexStale) {
+            return;
+        }
+        int from = lowerBound(oldPriceCents);
+        while (from < size && sortedPrices[from] == oldPriceCents && byPrice[from] != product) {
+            from++;
+        }
+        if (from == size || byPrice[from] != product) {
+            priceIndexStale = true;
+            return;
+        }
+        int to = lowerBound(newPriceCents);
+        if (to > from) {
+            to--;
+            System.arraycopy(sortedPrices, from + 1, sortedPrices, from, to - from);
+            System.arraycopy(byPrice, from + 1, byPrice, from, to - from);
+        } else {
+            System.arraycopy(sortedPrices, to, sortedPrices, to + 1, from - to);
+            System.arraycopy(byPrice, to, byPrice, to + 1, from - to);
+        }
+        sortedPrices[to] = newPriceCents;
+        byPrice[to] = product;
+    }
+
+    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
+        return findByPriceRangeCents(Money.fromDouble(minPrice), Money.fromDouble(maxPrice));
+    }
+
+    public List<Product> findByPriceRangeCents(long minCents, long maxCents) {
+        List<Product> result = new ArrayList<>();
+        if (minCents > maxCents) {
+            return result;
+        }
+        ensurePriceIndex();
+        for (int i = lowerBound(minCents); i < size && sortedPrices[i] <= maxCents; i++) {
+            result.add(byPrice[i]);
+        }
+        return result;
+    }
+
+    public List<Product> findByNamePrefix(String prefix) {
+        ensureNameIndex();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byName[mid].getName().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Product> result = new ArrayList<>();
+        for (int i = low; i < size && byName[i].getName().startsWith(prefix); i++) {
+            result.add(byName[i]);
+        }
+        return result;
+    }
+
+    private int lowerBound(long priceCents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < priceCents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // only add marks the price index stale, the next range query then rebuilds it with a linear radix sort
+    private void ensurePriceIndex() {
+        if (!priceIndexStale) {
+            return;
+        }
+        long[] keys = new long[size];
+        Product[] values = Arrays.copyOf(products, size);
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            keys[i] = values[i].getPriceCents();
+            max = Math.max(max, keys[i]);
+        }
+        radixSort(keys, values, size, 64 - Long.numberOfLeadingZeros(max));
+        sortedPrices = keys;
+        byPrice = values;
+        priceIndexStale = false;
+    }
+
+    private void ensureNameIndex() {
+        if (!nameIndexStale) {
+            return;
+        }
+        byName = Arrays.copyOf(products, size);
+        Arrays.sort(byName, Comparator.comparing(Product::getName));
+        nameIndexStale = false;
+    }
+
+    private static void radixSort(long[] keys, Product[] values, int n, int bits) {
+        long[] keyBuffer = new long[n];
+        Product[] valueBuffer = new Product[n];
+        int[] counts = new int[RADIX + 1];
+        long[] srcKeys = keys;
+        Product[] srcValues = values;
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((srcKeys[i] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            for (int r = 0; r < RADIX; r++) {
+                counts[r + 1] += counts[r];
+            }
+            for (int i = 0; i < n; i++) {
+                int target = counts[(int) ((srcKeys[i] >>> shift) & (RADIX - 1))]++;
+                keyBuffer[target] = srcKeys[i];
+                valueBuffer[target] = srcValues[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = keyBuffer;
+            keyBuffer = swapKeys;
+            Product[] swapValues = srcValues;
+            srcValues = valueBuffer;
+            valueBuffer = swapValues;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package product;
+
+public interface ProductStore {
+
+    Product load(int id);
+}
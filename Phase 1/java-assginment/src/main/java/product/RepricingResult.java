@@ -0,0 +1,35 @@
+package product;
+
+public class RepricingResult {
+    private final boolean applied;
+    private final long version;
+    private final int changed;
+    private final int[] failedIds;
+
+    RepricingResult(boolean applied, long version, int changed, int[] failedIds) {
+        this.applied = applied;
+        this.version = version;
+        this.changed = changed;
+        this.failedIds = failedIds;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+
+    public int[] getFailedIds() {
+        return failedIds.clone();
+    }
+
+    public int getFailureCount() {
+        return failedIds.length;
+    }
+}
@@ -0,0 +1,53 @@
+package product;
+
+import java.util.Map;
+
+/**
+ * Computes a product's new price from its current one. A negative result marks the product as
+ * failed; {@link #andThen} stops there so a later rule such as {@link #clamp} cannot turn the
+ * failure back into a valid price.
+ */
+public interface RepricingRule {
+
+    long reprice(CatalogSnapshot snapshot, int index, long priceCents);
+
+    default RepricingRule andThen(RepricingRule next) {
+        return (snapshot, index, priceCents) -> {
+            long price = reprice(snapshot, index, priceCents);
+            return price < 0 ? price : next.reprice(snapshot, index, price);
+        };
+    }
+
+    default RepricingRule onlyInCategory(String category) {
+        return (snapshot, index, priceCents) -> category.equals(snapshot.categoryAt(index))
+                ? reprice(snapshot, index, priceCents)
+                : priceCents;
+    }
+
+    static RepricingRule percentChange(double percent) {
+        double factor = 1 + percent / 100;
+        return (snapshot, index, priceCents) -> scale(priceCents, factor);
+    }
+
+    static RepricingRule clamp(long floorCents, long ceilingCents) {
+        if (floorCents > ceilingCents) {
+            throw new IllegalArgumentException("floor cannot be above ceiling");
+        }
+        return (snapshot, index, priceCents) -> Math.max(floorCents, Math.min(ceilingCents, priceCents));
+    }
+
+    static RepricingRule categoryMultipliers(Map<String, Double> multipliers) {
+        return (snapshot, index, priceCents) -> {
+            Double factor = multipliers.get(snapshot.categoryAt(index));
+            return factor == null ? priceCents : scale(priceCents, factor);
+        };
+    }
+
+    private static long scale(long priceCents, double factor) {
+        double scaled = priceCents * factor;
+        if (scaled >= Long.MAX_VALUE || Double.isNaN(scaled)) {
+            return -1;
+        }
+        return Math.round(scaled);
+    }
+}
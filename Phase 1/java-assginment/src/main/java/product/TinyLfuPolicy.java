@@ -0,0 +1,88 @@
+package product;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Window TinyLFU: new entries land in a small LRU window, and when the window overflows its
+ * oldest entry only replaces the main region's LRU victim if the frequency sketch has seen it
+ * more often, which keeps one-off scans from flushing the hot set.
+ */
+class TinyLfuPolicy implements EvictionPolicy {
+    // the weight budget says nothing about how many entries fit, so the sketch starts small and grows
+    private static final long INITIAL_ENTRY_ESTIMATE = 1024;
+
+    private final LinkedHashMap<Integer, Long> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, Long> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final long windowMaxWeight;
+    private final long mainMaxWeight;
+    private long windowWeight;
+    private long mainWeight;
+
+    TinyLfuPolicy(long maxWeight) {
+        this.windowMaxWeight = Math.max(1, maxWeight / 100);
+        this.mainMaxWeight = maxWeight - windowMaxWeight;
+        this.sketch = new FrequencySketch(Math.min(maxWeight, INITIAL_ENTRY_ESTIMATE));
+    }
+
+    @Override
+    public void onAccess(int id) {
+        sketch.increment(id);
+        if (window.get(id) == null) {
+            main.get(id);
+        }
+    }
+
+    @Override
+    public void onAdmit(int id, long weight, IntConsumer evictor) {
+        sketch.ensureCapacity(window.size() + main.size() + 1L);
+        sketch.increment(id);
+        window.put(id, weight);
+        windowWeight += weight;
+
+        Iterator<Map.Entry<Integer, Long>> windowEldest = window.entrySet().iterator();
+        while (windowWeight > windowMaxWeight && windowEldest.hasNext()) {
+            Map.Entry<Integer, Long> candidate = windowEldest.next();
+            windowEldest.remove();
+            windowWeight -= candidate.getValue();
+            admitToMain(candidate.getKey(), candidate.getValue(), evictor);
+        }
+    }
+
+    private void admitToMain(int candidate, long weight, IntConsumer evictor) {
+        if (weight > mainMaxWeight) {
+            evictor.accept(candidate);
+            return;
+        }
+        Iterator<Map.Entry<Integer, Long>> mainEldest = main.entrySet().iterator();
+        if (mainWeight + weight > mainMaxWeight
+                && sketch.frequency(main.keySet().iterator().next()) >= sketch.frequency(candidate)) {
+            evictor.accept(candidate);
+            return;
+        }
+        while (mainWeight + weight > mainMaxWeight) {
+            Map.Entry<Integer, Long> victim = mainEldest.next();
+            mainEldest.remove();
+            mainWeight -= victim.getValue();
+            evictor.accept(victim.getKey());
+        }
+        main.put(candidate, weight);
+        mainWeight += weight;
+    }
+
+    @Override
+    public void onRemove(int id) {
+        Long removed = window.remove(id);
+        if (removed != null) {
+            windowWeight -= removed;
+            return;
+        }
+        removed = main.remove(id);
+        if (removed != null) {
+            mainWeight -= removed;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package product;
+
+import common.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-mostly catalog where readers take a lock-free, immutable {@link CatalogSnapshot} and a
+ * single writer publishes repriced versions atomically. Prices live in fixed-size pages and a
+ * new version copies only the pages its batch touches, sharing the rest with older versions.
+ * Superseded versions are reclaimed by the garbage collector once no reader still holds them.
+ *
+ * <p>The catalog stays attached to the live products it was built from. A direct
+ * {@link Product#setPrice} publishes a one-product version, and every published batch is pushed
+ * back to the products through {@link Product#trySetPriceCents}. Readers of a snapshot see a batch
+ * all at once, while readers of the live products see its prices land one product at a time.
+ */
+public class VersionedCatalog implements PriceListener {
+    private final AtomicReference<CatalogSnapshot> current;
+    private final Object writeLock = new Object();
+    private final Product[] products;
+    private Thread publisher;
+
+    public VersionedCatalog(Collection<Product> products) {
+        int size = products.size();
+        int[] ids = new int[size];
+        String[] names = new String[size];
+        int[] categoryCodes = new int[size];
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> categoryNames = new ArrayList<>();
+        long[][] pages = new long[(size + CatalogSnapshot.PAGE_MASK) >>> CatalogSnapshot.PAGE_SHIFT][];
+        for (int p = 0; p < pages.length; p++) {
+            pages[p] = new long[Math.min(CatalogSnapshot.PAGE_SIZE, size - (p << CatalogSnapshot.PAGE_SHIFT))];
+        }
+        IntIntHashMap idIndex = new IntIntHashMap(size);
+        this.products = new Product[size];
+        int index = 0;
+        for (Product product : products) {
+            if (!idIndex.putIfAbsent(product.getId(), index)) {
+                throw new IllegalArgumentException("product " + product.getId() + " already exists");
+            }
+            ids[index] = product.getId();
+            names[index] = product.getName();
+            categoryCodes[index] = codes.computeIfAbsent(product.getCategory(), c -> {
+                categoryNames.add(c);
+                return categoryNames.size() - 1;
+            });
+            pages[index >>> CatalogSnapshot.PAGE_SHIFT][index & CatalogSnapshot.PAGE_MASK] = product.getPriceCents();
+            this.products[index] = product;
+            index++;
+        }
+        this.current = new AtomicReference<>(new CatalogSnapshot(1, ids, names, categoryCodes,
+                categoryNames.toArray(new String[0]), pages, idIndex, size));
+        for (Product product : this.products) {
+            product.addPriceListener(this);
+        }
+    }
+
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+
+    public long getVersion() {
+        return current.get().getVersion();
+    }
+
+    public CatalogSnapshot reprice(int[] productIds, long[] newPricesCents) throws NegativePriceException {
+        if (productIds.length != newPricesCents.length) {
+            throw new IllegalArgumentException("ids and prices must have the same length");
+        }
+        for (long price : newPricesCents) {
+            if (price < 0) {
+                throw new NegativePriceException("price cannot be negative");
+            }
+        }
+
+        synchronized (writeLock) {
+            CatalogSnapshot base = current.get();
+            int[] indexes = new int[productIds.length];
+            for (int i = 0; i < productIds.length; i++) {
+                indexes[i] = base.indexOf(productIds[i]);
+                if (indexes[i] < 0) {
+                    throw new IllegalArgumentException("product " + productIds[i] + " not in catalog");
+                }
+            }
+            return publish(base, indexes, newPricesCents);
+        }
+    }
+
+    // the price is re-read under the write lock so a setPrice racing a batch cannot publish a stale value
+    @Override
+    public void priceChanged(Product product, long oldPriceCents, long newPriceCents) {
+        synchronized (writeLock) {
+            if (publisher == Thread.currentThread()) {
+                return;
+            }
+            CatalogSnapshot base = current.get();
+            int index = base.indexOf(product.getId());
+            if (index < 0 || products[index] != product) {
+                return;
+            }
+            long price = product.getPriceCents();
+            if (base.priceCentsAt(index) != price) {
+                publish(base, new int[]{index}, new long[]{price});
+            }
+        }
+    }
+
+    public void detach() {
+        for (Product product : products) {
+            product.removePriceListener(this);
+        }
+    }
+
+    private CatalogSnapshot publish(CatalogSnapshot base, int[] indexes, long[] newPricesCents) {
+        long[][] basePages = base.pricePages();
+        long[][] pages = basePages.clone();
+        for (int i = 0; i < indexes.length; i++) {
+            int page = indexes[i] >>> CatalogSnapshot.PAGE_SHIFT;
+            if (pages[page] == basePages[page]) {
+                pages[page] = basePages[page].clone();
+            }
+            pages[page][indexes[i] & CatalogSnapshot.PAGE_MASK] = newPricesCents[i];
+        }
+        return tryPublishPages(base, pages);
+    }
+
+    // null when another version was published after base was taken
+    CatalogSnapshot tryPublishPages(CatalogSnapshot base, long[][] pages) {
+        synchronized (writeLock) {
+            if (current.get() != base) {
+                return null;
+            }
+            CatalogSnapshot next = new CatalogSnapshot(base.getVersion() + 1, base.ids(), base.names(),
+                    base.categoryCodes(), base.categoryNames(), pages, base.idIndex(), base.size());
+            current.set(next);
+            applyToProducts(base.pricePages(), pages);
+            return next;
+        }
+    }
+
+    <T> T exclusively(Supplier<T> action) {
+        synchronized (writeLock) {
+            return action.get();
+        }
+    }
+
+    // only pages the batch copied can hold changes; the listener callbacks this triggers are ignored
+    private void applyToProducts(long[][] basePages, long[][] pages) {
+        publisher = Thread.currentThread();
+        try {
+            for (int p = 0; p < pages.length; p++) {
+                if (pages[p] == basePages[p]) {
+                    continue;
+                }
+                long[] page = pages[p];
+                int first = p << CatalogSnapshot.PAGE_SHIFT;
+                for (int i = 0; i < page.length; i++) {
+                    Product product = products[first + i];
+                    if (product.getPriceCents() != page[i]) {
+                        product.trySetPriceCents(page[i]);
+                    }
+                }
+            }
+        } finally {
+            publisher = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package banking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountRegistryTest {
+    private static final int ACCOUNTS = 10_000;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentTransfersConserveTotalBalanceWithoutDeadlock() throws Exception {
+        AccountRegistry registry = new AccountRegistry(ACCOUNTS, 256);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            registry.openCents(i, "holder " + i, 100_000);
+        }
+        long expected = registry.totalBalanceCents();
+
+        AtomicLong rejected = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    // a small hot set forces lock contention and opposite-direction transfers
+                    int from = random.nextInt(random.nextBoolean() ? 16 : ACCOUNTS);
+                    int to = random.nextInt(random.nextBoolean() ? 16 : ACCOUNTS);
+                    try {
+                        registry.transferCents(from, to, random.nextInt(1, 50_000));
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                        return;
+                    }
+                }
+            });
+            workers[t].setDaemon(true);
+        }
+
+        // a deadlock shows up as the join never returning, so the whole run is bounded
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        });
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures " + failures);
+        assertTrue(rejected.get() < (long) THREADS * OPS_PER_THREAD);
+        assertEquals(expected, registry.totalBalanceCents());
+    }
+
+    @Test
+    void transferToMissingAccountThrows() throws Exception {
+        AccountRegistry registry = new AccountRegistry();
+        registry.openCents(1, "alice", 1_000);
+
+        assertThrows(AccountNotFoundException.class, () -> registry.transferCents(1, 2, 100));
+        assertEquals(1_000, registry.get(1).getBalanceCents());
+    }
+
+    @Test
+    void depositThatWouldOverflowIsRejectedWithACode() throws Exception {
+        AccountRegistry registry = new AccountRegistry();
+        registry.openCents(1, "alice", Long.MAX_VALUE - 5);
+
+        assertEquals(TransactionResult.INVALID_AMOUNT, registry.tryDepositCents(1, 10));
+        assertEquals(Long.MAX_VALUE - 5, registry.get(1).getBalanceCents());
+        assertThrows(InvalidAmountException.class, () -> registry.depositCents(1, 10));
+        assertEquals(TransactionResult.OK, registry.tryDepositCents(1, 5));
+    }
+}
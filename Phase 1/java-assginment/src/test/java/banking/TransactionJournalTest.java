@@ -0,0 +1,66 @@
+package banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveryReplaysJournalOnTopOfSnapshot() throws Exception {
+        try (AccountRegistry registry = AccountRegistry.recover(directory, FsyncPolicy.everyOp(), 0)) {
+            registry.openCents(1, "alice", 10_000);
+            registry.openCents(2, "bob", 5_000);
+            registry.depositCents(1, 500);
+            registry.snapshot();
+            registry.transferCents(1, 2, 2_000);
+            registry.withdrawCents(2, 1_000);
+        }
+
+        try (AccountRegistry recovered = AccountRegistry.recover(directory, FsyncPolicy.everyOp(), 0)) {
+            assertEquals(8_500, recovered.get(1).getBalanceCents());
+            assertEquals(6_000, recovered.get(2).getBalanceCents());
+        }
+    }
+
+    @Test
+    void journalLeftBehindByCheckpointCrashIsNotReplayed() throws Exception {
+        Path journal = directory.resolve(TransactionJournal.JOURNAL_FILE);
+        Path stale = directory.resolve("journal.before-checkpoint");
+        try (AccountRegistry registry = AccountRegistry.recover(directory, FsyncPolicy.everyOp(), 0)) {
+            registry.openCents(1, "alice", 10_000);
+            registry.depositCents(1, 500);
+            registry.withdrawCents(1, 200);
+            Files.copy(journal, stale);
+            registry.snapshot();
+        }
+
+        // a crash after the snapshot rename but before the truncate leaves the old journal in place
+        Files.move(stale, journal, StandardCopyOption.REPLACE_EXISTING);
+
+        try (AccountRegistry recovered = AccountRegistry.recover(directory, FsyncPolicy.everyOp(), 0)) {
+            assertEquals(10_300, recovered.get(1).getBalanceCents());
+            recovered.depositCents(1, 100);
+        }
+        try (AccountRegistry recovered = AccountRegistry.recover(directory, FsyncPolicy.everyOp(), 0)) {
+            assertEquals(10_400, recovered.get(1).getBalanceCents());
+        }
+    }
+
+    @Test
+    void oversizedHolderNameIsRejected() {
+        AccountRegistry registry = new AccountRegistry();
+        String name = "x".repeat(AccountRegistry.MAX_HOLDER_NAME_BYTES + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.openCents(1, name, 0));
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,135 @@
+package codec;
+
+import employee.Employee;
+import employee.FullTimeEmployee;
+import employee.PartTimeEmployee;
+import org.example.Customer;
+import product.Product;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordCodecTest {
+    private static final String ACCENTED = "Ren\u00e9e \u00c5str\u00f6m \u4e2d\u6587 \ud83d\ude00";
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void productRoundTrips(boolean direct) throws Exception {
+        ProductCodec codec = new ProductCodec();
+        for (int id : new int[] {0, 127, 128, Integer.MAX_VALUE, -1, Integer.MIN_VALUE}) {
+            Product decoded = roundTrip(codec, Product.ofCents(id, ACCENTED, "\u00e9lectronique", Long.MAX_VALUE), direct);
+
+            assertEquals(id, decoded.getId());
+            assertEquals(ACCENTED, decoded.getName());
+            assertEquals("\u00e9lectronique", decoded.getCategory());
+            assertEquals(Long.MAX_VALUE, decoded.getPriceCents());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void customerRoundTripsIncludingNullFields(boolean direct) throws Exception {
+        CustomerCodec codec = new CustomerCodec();
+        Customer decoded = roundTrip(codec, new Customer(-42, ACCENTED, "ren\u00e9e@example.com"), direct);
+        assertEquals(-42, decoded.getId());
+        assertEquals(ACCENTED, decoded.getName());
+        assertEquals("ren\u00e9e@example.com", decoded.getEmail());
+
+        Customer empty = roundTrip(codec, new Customer(300, null, ""), direct);
+        assertNull(empty.getName());
+        assertEquals("", empty.getEmail());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void employeeRoundTripsEveryKind(boolean direct) throws Exception {
+        EmployeeCodec codec = new EmployeeCodec();
+
+        Employee plain = roundTrip(codec, new Employee(Integer.MIN_VALUE, ACCENTED, "R&D"), direct);
+        assertEquals(Employee.class, plain.getClass());
+        assertEquals(Integer.MIN_VALUE, plain.getId());
+        assertEquals(ACCENTED, plain.getName());
+
+        Employee fullTime = roundTrip(codec, FullTimeEmployee.ofCents(1 << 21, "Zo\u00eb", "Ventes", 1_234_567_890_123L), direct);
+        assertEquals(1_234_567_890_123L, assertInstanceOf(FullTimeEmployee.class, fullTime).getMonthlySalaryCents());
+        assertEquals("Zo\u00eb", fullTime.getName());
+
+        PartTimeEmployee partTime = assertInstanceOf(PartTimeEmployee.class,
+                roundTrip(codec, PartTimeEmployee.ofCents(7, "Jos\u00e9", "Ops", 1_825, 160), direct));
+        assertEquals(1_825, partTime.getHourlyRateCents());
+        assertEquals(160, partTime.getHoursWorked());
+        assertEquals("Ops", partTime.getDepartment());
+    }
+
+    @Test
+    void everyTruncationIsMalformed() throws Exception {
+        ProductCodec codec = new ProductCodec();
+        Product product = Product.ofCents(Integer.MAX_VALUE, ACCENTED, "home", 999);
+        byte[] encoded = encode(codec, product);
+
+        for (int length = 0; length < encoded.length; length++) {
+            ByteBuffer in = ByteBuffer.wrap(encoded, 0, length);
+            assertThrows(MalformedRecordException.class, () -> codec.decode(in), "truncated to " + length);
+            assertEquals(0, in.position());
+        }
+    }
+
+    @Test
+    void corruptedRecordsAreMalformed() throws Exception {
+        ProductCodec products = new ProductCodec();
+        byte[] product = encode(products, Product.ofCents(1, "lamp", "home", 999));
+
+        byte[] badVersion = product.clone();
+        badVersion[0] = 9;
+        assertMalformed(products, badVersion);
+
+        // name length prefix claims far more bytes than the record holds
+        byte[] longName = product.clone();
+        longName[2] = 0x7F;
+        assertMalformed(products, longName);
+
+        byte[] negativePrice = product.clone();
+        negativePrice[negativePrice.length - Long.BYTES] = (byte) 0x80;
+        assertMalformed(products, negativePrice);
+
+        assertMalformed(products, new byte[] {1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0});
+        assertMalformed(products, new byte[] {1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x1F, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertMalformed(new CustomerCodec(), new byte[] {1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+
+        EmployeeCodec employees = new EmployeeCodec();
+        byte[] employee = encode(employees, FullTimeEmployee.ofCents(1, "ana", "ops", 100));
+        employee[1] = 5;
+        assertMalformed(employees, employee);
+    }
+
+    private static <T> void assertMalformed(RecordCodec<T> codec, byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        assertThrows(MalformedRecordException.class, () -> codec.decode(in));
+        assertEquals(0, in.position());
+    }
+
+    private static <T> T roundTrip(RecordCodec<T> codec, T record, boolean direct) throws MalformedRecordException {
+        int size = codec.encodedSize(record);
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        codec.encode(record, buffer);
+        assertEquals(size, buffer.position());
+        buffer.flip();
+        T decoded = codec.decode(buffer);
+        assertEquals(size, buffer.position());
+        return decoded;
+    }
+
+    private static <T> byte[] encode(RecordCodec<T> codec, T record) {
+        ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(record));
+        codec.encode(record, buffer);
+        return buffer.array();
+    }
+}
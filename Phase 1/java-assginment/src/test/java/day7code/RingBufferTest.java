@@ -0,0 +1,170 @@
+package day7code;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spsc", "mpmc"})
+    void keepsFifoOrderBetweenEmptyAndFull(String kind) {
+        RingBuffer<Integer> buffer = newBuffer(kind, 3);
+        assertEquals(4, buffer.capacity());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offer(5));
+        assertEquals(5, buffer.poll());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spsc", "mpmc"})
+    void drainsInBatchesAcrossTheWraparound(String kind) {
+        RingBuffer<Integer> buffer = newBuffer(kind, 8);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+            buffer.poll();
+        }
+        // positions 6 to 13 wrap past the end of the array
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(8));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(5, buffer.drain(drained::add, 5));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertTrue(buffer.offer(8));
+
+        assertEquals(4, buffer.drain(drained::add, 100));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), drained);
+        assertEquals(0, buffer.drain(drained::add, 100));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spsc", "mpmc"})
+    void rejectsNull(String kind) {
+        RingBuffer<Integer> buffer = newBuffer(kind, 4);
+        assertThrows(NullPointerException.class, () -> buffer.offer(null));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void spscHandsEveryElementOverInOrder() {
+        int count = 200_000;
+        RingBuffer<Integer> buffer = new SpscRingBuffer<>(64, WaitStrategy.yielding());
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        buffer.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+
+            int[] expected = {0};
+            while (expected[0] < count) {
+                buffer.drainAtLeastOne(element -> assertEquals(expected[0]++, element), 16);
+            }
+            producer.join();
+            assertTrue(buffer.isEmpty());
+        });
+    }
+
+    @Test
+    void mpmcDeliversEveryMessageExactlyOnce() {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        RingBuffer<Integer> buffer = new MpmcRingBuffer<>(128, WaitStrategy.yielding());
+        AtomicIntegerArray deliveries = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perProducer; i++) {
+                            buffer.put(first + i);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                // half the consumers poll one at a time and half drain batches, so both claim paths race
+                boolean batched = c % 2 == 0;
+                threads.add(new Thread(() -> {
+                    while (consumed.get() < total) {
+                        if (batched) {
+                            int drained = buffer.drain(message -> deliveries.incrementAndGet(message), 8);
+                            consumed.addAndGet(drained);
+                            if (drained == 0) {
+                                Thread.yield();
+                            }
+                        } else {
+                            Integer message = buffer.poll();
+                            if (message == null) {
+                                Thread.yield();
+                            } else {
+                                deliveries.incrementAndGet(message);
+                                consumed.incrementAndGet();
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        });
+
+        assertEquals(total, consumed.get());
+        for (int message = 0; message < total; message++) {
+            assertEquals(1, deliveries.get(message), "deliveries of message " + message);
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static RingBuffer<Integer> newBuffer(String kind, int capacity) {
+        return kind.equals("spsc")
+                ? new SpscRingBuffer<>(capacity, WaitStrategy.yielding())
+                : new MpmcRingBuffer<>(capacity, WaitStrategy.yielding());
+    }
+}
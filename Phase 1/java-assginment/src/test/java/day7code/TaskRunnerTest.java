@@ -0,0 +1,91 @@
+package day7code;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TaskRunnerTest {
+
+    @Test
+    void invokeAllReturnsResultsInSubmissionOrder() throws Exception {
+        try (TaskRunner runner = new TaskRunner(TaskRunner.Mode.FORK_JOIN, 2)) {
+            List<Callable<Integer>> tasks = List.of(() -> {
+                Thread.sleep(50);
+                return 1;
+            }, () -> 2, () -> 3);
+
+            assertEquals(List.of(1, 2, 3), runner.invokeAll(tasks));
+            assertEquals(3, runner.metrics().getCompleted());
+        }
+    }
+
+    @Test
+    void invokeAllFailsFastOnTheFirstFailureToComplete() {
+        try (TaskRunner runner = new TaskRunner(TaskRunner.Mode.FIXED, 2)) {
+            List<Callable<Integer>> tasks = List.of(() -> {
+                Thread.sleep(60_000);
+                return 1;
+            }, () -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> runner.invokeAll(tasks));
+                assertEquals("boom", failure.getCause().getMessage());
+            });
+        }
+    }
+
+    @Test
+    void cancellationsAreNotCountedAsFailures() throws Exception {
+        try (TaskRunner runner = new TaskRunner(TaskRunner.Mode.FIXED, 1)) {
+            CountDownLatch running = new CountDownLatch(1);
+            runner.submit(() -> {
+                running.countDown();
+                Thread.sleep(60_000);
+                return null;
+            });
+            running.await();
+            for (int i = 0; i < 10; i++) {
+                runner.submit(() -> null);
+            }
+
+            assertEquals(11, runner.cancelAll());
+
+            TaskMetrics metrics = runner.metrics();
+            assertEquals(11, metrics.getCancelled());
+            assertEquals(0, metrics.getFailed());
+            assertEquals(0, metrics.getQueueDepth());
+        }
+    }
+
+    @Test
+    void virtualModeRunsTasksWhenTheRuntimeSupportsIt() throws Exception {
+        assumeTrue(TaskRunner.isVirtualThreadSupported());
+        try (TaskRunner runner = new TaskRunner(TaskRunner.Mode.VIRTUAL, 1)) {
+            List<Callable<Integer>> tasks = List.of(() -> {
+                Thread.sleep(20);
+                return 1;
+            }, () -> 2);
+
+            assertEquals(List.of(1, 2), runner.invokeAll(tasks));
+            assertEquals(2, runner.metrics().getCompleted());
+        }
+    }
+
+    @Test
+    void virtualModeFailsClearlyOnOlderRuntimes() {
+        assumeFalse(TaskRunner.isVirtualThreadSupported());
+        assertThrows(UnsupportedOperationException.class, () -> new TaskRunner(TaskRunner.Mode.VIRTUAL, 1));
+    }
+}
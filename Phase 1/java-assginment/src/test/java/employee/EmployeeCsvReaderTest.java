@@ -0,0 +1,60 @@
+package employee;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeCsvReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsRowsWithAndWithoutTrailingNewline() throws IOException {
+        List<Employee> employees = read("type,id,name,department,amount,hours\r\n"
+                + "FT,1,Ana,Sales,4200.5\n"
+                + "PT,2,Ben,Ops,18.25,40");
+
+        assertEquals(2, employees.size());
+        assertEquals(420_050, employees.get(0).calculateSalaryCents());
+        PartTimeEmployee partTime = (PartTimeEmployee) employees.get(1);
+        assertEquals(1_825, partTime.getHourlyRateCents());
+        assertEquals(40, partTime.getHoursWorked());
+    }
+
+    @Test
+    void shortLastLineIsMalformed() throws IOException {
+        assertMalformed("FT,1,Ana,Sales,10\nF", "line 2");
+        assertMalformed("P", "line 1");
+    }
+
+    @Test
+    void outOfRangeNumbersAreMalformed() throws IOException {
+        assertMalformed("FT,4294967297,Ana,Sales,10\n", "id out of range");
+        assertMalformed("PT,1,Ben,Ops,10,2147483648\n", "hours out of range");
+        assertMalformed("FT,99999999999999999999,Ana,Sales,10\n", "number out of range");
+        assertMalformed("FT,1,Ana,Sales,92233720368547759\n", "amount out of range");
+    }
+
+    private void assertMalformed(String csv, String reason) throws IOException {
+        IOException failure = assertThrows(IOException.class, () -> read(csv));
+        assertTrue(failure.getMessage().startsWith("malformed row"), failure.getMessage());
+        assertTrue(failure.getMessage().contains(reason), failure.getMessage());
+    }
+
+    private List<Employee> read(String csv) throws IOException {
+        Path file = Files.writeString(dir.resolve("employees.csv"), csv, StandardCharsets.UTF_8);
+        List<Employee> employees = new ArrayList<>();
+        new EmployeeCsvReader().read(file, employees::add);
+        return employees;
+    }
+}
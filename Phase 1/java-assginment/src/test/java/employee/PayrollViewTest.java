@@ -0,0 +1,111 @@
+package employee;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayrollViewTest {
+    private static final int ROSTER_SIZE = 10_000;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 50_000;
+
+    @Test
+    void totalsReconcileWithFullRecomputeAfterConcurrentMutations() {
+        Employee[] roster = buildRoster(ROSTER_SIZE);
+        PayrollView view = new PayrollView();
+        for (int i = 0; i < ROSTER_SIZE / 2; i++) {
+            view.add(roster[i]);
+        }
+        assertTrue(view.reconcile(), "after initial load");
+
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    mutate(roster, view);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        });
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures " + failures);
+        assertTrue(view.reconcile(), "after concurrent updates");
+        assertEquals(view.recompute().getTotalCents(), view.getTotalCents());
+    }
+
+    @Test
+    void removedEmployeeNoLongerMovesTotals() {
+        FullTimeEmployee employee = FullTimeEmployee.ofCents(1, "ada", "engineering", 500_000);
+        PayrollView view = new PayrollView();
+        view.add(employee);
+        view.remove(employee);
+
+        employee.setMonthlySalaryCents(900_000);
+
+        assertEquals(0, view.getTotalCents());
+        assertTrue(view.reconcile());
+    }
+
+    private static void mutate(Employee[] roster, PayrollView view) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPS_PER_THREAD; i++) {
+            Employee employee = roster[random.nextInt(roster.length)];
+            int action = random.nextInt(10);
+            if (action == 0) {
+                try {
+                    view.add(employee);
+                } catch (IllegalStateException e) {
+                    // already a member
+                }
+            } else if (action == 1) {
+                try {
+                    view.remove(employee);
+                } catch (IllegalStateException e) {
+                    // not a member
+                }
+            } else if (employee instanceof FullTimeEmployee) {
+                ((FullTimeEmployee) employee).setMonthlySalaryCents(random.nextInt(200_000, 1_000_000));
+            } else if (employee instanceof PartTimeEmployee) {
+                if (random.nextBoolean()) {
+                    ((PartTimeEmployee) employee).setHoursWorked(random.nextInt(10, 160));
+                } else {
+                    ((PartTimeEmployee) employee).setHourlyRateCents(random.nextInt(1_000, 5_000));
+                }
+            }
+        }
+    }
+
+    private static Employee[] buildRoster(int size) {
+        String[] departments = {"engineering", "marketing", "support", "sales"};
+        Employee[] roster = new Employee[size];
+        for (int i = 0; i < size; i++) {
+            String department = departments[i % departments.length];
+            roster[i] = i % 3 == 0
+                    ? PartTimeEmployee.ofCents(i, "employee " + i, department, 2_000 + i % 3_000, 10 + i % 150)
+                    : FullTimeEmployee.ofCents(i, "employee " + i, department, 200_000 + i);
+        }
+        return roster;
+    }
+}
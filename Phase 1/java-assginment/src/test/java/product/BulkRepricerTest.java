@@ -0,0 +1,79 @@
+package product;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkRepricerTest {
+
+    @Test
+    void emptyCatalogIsANoOp() {
+        VersionedCatalog catalog = new VersionedCatalog(new ArrayList<>());
+        try (BulkRepricer repricer = new BulkRepricer(2)) {
+            RepricingResult result = repricer.reprice(catalog, RepricingRule.percentChange(10));
+
+            assertTrue(result.isApplied());
+            assertEquals(0, result.getChanged());
+            assertEquals(1, result.getVersion());
+        }
+    }
+
+    @Test
+    void failuresSurviveLaterClampAndNothingIsApplied() throws NegativePriceException {
+        List<Product> products = products(10_000);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        RepricingRule rule = RepricingRule.percentChange(5)
+                .andThen(RepricingRule.categoryMultipliers(Map.of("garden", -1.0)))
+                .andThen(RepricingRule.clamp(500, 150_000));
+
+        try (BulkRepricer repricer = new BulkRepricer(2)) {
+            RepricingResult result = repricer.reprice(catalog, rule);
+
+            assertFalse(result.isApplied());
+            assertEquals(5_000, result.getFailureCount());
+            assertEquals(1, catalog.getVersion());
+            assertEquals(1_000, products.get(1).getPriceCents());
+        }
+    }
+
+    @Test
+    void concurrentPublishIsRetriedInsteadOfFailing() throws NegativePriceException {
+        List<Product> products = products(10_000);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        Product outsider = products.get(9_999);
+        AtomicBoolean interfered = new AtomicBoolean();
+        RepricingRule rule = (snapshot, index, priceCents) -> {
+            if (index == 0 && interfered.compareAndSet(false, true)) {
+                outsider.trySetPriceCents(7);
+            }
+            return priceCents + 1;
+        };
+
+        try (BulkRepricer repricer = new BulkRepricer(2)) {
+            RepricingResult result = repricer.reprice(catalog, rule);
+
+            assertTrue(result.isApplied());
+            assertEquals(10_000, result.getChanged());
+            assertEquals(3, result.getVersion());
+            assertEquals(8, outsider.getPriceCents());
+            assertEquals(8, catalog.snapshot().priceCents(9_999));
+            assertArrayEquals(new int[0], result.getFailedIds());
+        }
+    }
+
+    private static List<Product> products(int count) throws NegativePriceException {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.ofCents(i, "product " + i, i % 2 == 0 ? "garden" : "kitchen", 1_000));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,50 @@
+package product;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void widthIsCappedSoEveryRowFitsOneArray() {
+        assertEquals(16, FrequencySketch.widthFor(0));
+        assertEquals(FrequencySketch.MAX_WIDTH, FrequencySketch.widthFor(1L << 28));
+        assertEquals(FrequencySketch.MAX_WIDTH, FrequencySketch.widthFor(Long.MAX_VALUE));
+        assertTrue((long) FrequencySketch.MAX_WIDTH * 4 <= Integer.MAX_VALUE);
+    }
+
+    @Test
+    void growsWithTheEntriesItTracks() {
+        FrequencySketch sketch = new FrequencySketch(8);
+        assertEquals(16, sketch.width());
+
+        sketch.ensureCapacity(1_000);
+        assertEquals(2_048, sketch.width());
+        sketch.ensureCapacity(10);
+        assertEquals(2_048, sketch.width());
+
+        sketch.increment(7);
+        sketch.increment(7);
+        assertEquals(2, sketch.frequency(7));
+    }
+
+    @Test
+    void tinyLfuWithAByteBudgetBuildsAndAdmits() throws NegativePriceException {
+        Map<Integer, Product> products = new HashMap<>();
+        for (int id = 1; id <= 2_000; id++) {
+            products.put(id, Product.ofCents(id, "product " + id, 1_000));
+        }
+        EvictionPolicy policy = EvictionPolicy.tinyLfu(256L * 1024 * 1024);
+        try (ProductCache cache = new ProductCache(products::get, policy, product -> 4_096)) {
+            for (int id = 1; id <= 2_000; id++) {
+                cache.get(id);
+            }
+            assertEquals(2_000, cache.size());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package product;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProductCacheTest {
+
+    @Test
+    void priceChangeInvalidatesCachedEntry() throws NegativePriceException {
+        Map<Integer, Product> products = products(4);
+        try (ProductCache cache = new ProductCache(products::get, EvictionPolicy.lru(4))) {
+            Product first = cache.get(1);
+            first.setPriceCents(5);
+
+            assertEquals(1, cache.stats().getInvalidations());
+            assertEquals(0, cache.size());
+            assertSame(first, cache.get(1));
+        }
+    }
+
+    @Test
+    void evictedEntryNoLongerInvalidates() throws NegativePriceException {
+        Map<Integer, Product> products = products(4);
+        try (ProductCache cache = new ProductCache(products::get, EvictionPolicy.lru(1))) {
+            cache.get(1);
+            cache.get(2);
+            assertEquals(1, cache.stats().getEvictions());
+
+            products.get(1).setPriceCents(5);
+            products.get(2).setPriceCents(5);
+
+            assertEquals(1, cache.stats().getInvalidations());
+        }
+    }
+
+    @Test
+    void closedCacheIsNotKeptReachableByItsProducts() throws NegativePriceException, InterruptedException {
+        Map<Integer, Product> products = products(4);
+        ProductCache cache = new ProductCache(products::get, EvictionPolicy.lru(4));
+        for (int id = 0; id < 4; id++) {
+            cache.get(id);
+        }
+        cache.close();
+        WeakReference<ProductCache> reference = new WeakReference<>(cache);
+        cache = null;
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+        assertEquals(4, products.size());
+    }
+
+    private static Map<Integer, Product> products(int count) throws NegativePriceException {
+        Map<Integer, Product> products = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            products.put(i, Product.ofCents(i, "product " + i, 1_000));
+        }
+        return products;
+    }
+}
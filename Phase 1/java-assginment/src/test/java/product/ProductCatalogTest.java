@@ -0,0 +1,95 @@
+package product;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductCatalogTest {
+
+    @Test
+    void priceRangeStaysConsistentAcrossSetPrice() throws NegativePriceException {
+        SplittableRandom random = new SplittableRandom(7);
+        ProductCatalog catalog = new ProductCatalog(2_000);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Product product = Product.ofCents(i, "product " + i, random.nextInt(10_000));
+            products.add(product);
+            catalog.add(product);
+        }
+        catalog.findByPriceRangeCents(0, 0);
+
+        for (int round = 0; round < 5_000; round++) {
+            products.get(random.nextInt(products.size())).setPriceCents(random.nextInt(10_000));
+            long min = random.nextInt(10_000);
+            long max = min + random.nextInt(500);
+            assertEquals(bruteForce(products, min, max), ids(catalog.findByPriceRangeCents(min, max)));
+        }
+    }
+
+    @Test
+    void removedListenerStopsReceivingChanges() throws NegativePriceException {
+        Product product = Product.ofCents(1, "lamp", 1_000);
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        PriceListener firstListener = (p, oldCents, newCents) -> first.incrementAndGet();
+        PriceListener secondListener = (p, oldCents, newCents) -> second.incrementAndGet();
+        product.addPriceListener(firstListener);
+        product.addPriceListener(secondListener);
+
+        product.setPriceCents(1_100);
+        assertTrue(product.removePriceListener(firstListener));
+        assertFalse(product.removePriceListener(firstListener));
+        product.setPriceCents(1_200);
+
+        assertEquals(1, first.get());
+        assertEquals(2, second.get());
+    }
+
+    @Test
+    void concurrentRegistrationsAreNotLost() throws Exception {
+        Product product = Product.ofCents(1, "lamp", 1_000);
+        AtomicInteger calls = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    product.addPriceListener((p, oldCents, newCents) -> calls.incrementAndGet());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        product.setPriceCents(2_000);
+
+        assertEquals(4_000, calls.get());
+    }
+
+    private static List<Integer> bruteForce(List<Product> products, long min, long max) {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getPriceCents() >= min && product.getPriceCents() <= max) {
+                matches.add(product);
+            }
+        }
+        return ids(matches);
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        ids.sort(null);
+        return ids;
+    }
+}
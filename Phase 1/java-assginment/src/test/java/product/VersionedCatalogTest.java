@@ -0,0 +1,56 @@
+package product;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VersionedCatalogTest {
+
+    @Test
+    void setPriceOnLiveProductPublishesNewVersion() throws NegativePriceException {
+        List<Product> products = products(10_000);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        CatalogSnapshot before = catalog.snapshot();
+
+        products.get(42).setPriceCents(99_999);
+
+        assertEquals(42 * 10L, before.priceCents(42));
+        assertEquals(99_999, catalog.snapshot().priceCents(42));
+        assertEquals(before.getVersion() + 1, catalog.getVersion());
+    }
+
+    @Test
+    void publishedBatchReachesLiveProducts() throws NegativePriceException {
+        List<Product> products = products(10_000);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+
+        catalog.reprice(new int[]{1, 5_000, 9_999}, new long[]{11, 22, 33});
+
+        assertEquals(11, products.get(1).getPriceCents());
+        assertEquals(22, products.get(5_000).getPriceCents());
+        assertEquals(33, products.get(9_999).getPriceCents());
+        assertEquals(2, catalog.getVersion());
+    }
+
+    @Test
+    void detachedCatalogIgnoresLaterChanges() throws NegativePriceException {
+        List<Product> products = products(10);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        catalog.detach();
+
+        products.get(3).setPriceCents(7);
+
+        assertEquals(30, catalog.snapshot().priceCents(3));
+    }
+
+    private static List<Product> products(int count) throws NegativePriceException {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.ofCents(i, "product " + i, i % 2 == 0 ? "garden" : "kitchen", i * 10L));
+        }
+        return products;
+    }
+}